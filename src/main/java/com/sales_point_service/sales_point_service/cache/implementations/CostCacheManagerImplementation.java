@@ -1,6 +1,8 @@
 package com.sales_point_service.sales_point_service.cache.implementations;
 
 import com.sales_point_service.sales_point_service.cache.interfaces.CacheManager;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
 import com.sales_point_service.sales_point_service.models.Cost;
 import com.sales_point_service.sales_point_service.models.CostId;
 import com.sales_point_service.sales_point_service.models.SalePoint;
@@ -8,8 +10,12 @@ import com.sales_point_service.sales_point_service.repositories.SalePointReposit
 import com.sales_point_service.sales_point_service.utils.Constants;
 import com.sales_point_service.sales_point_service.utils.CostUtils;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -18,6 +24,8 @@ import com.sales_point_service.sales_point_service.repositories.CostRepository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +35,18 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
     private final Map<CostId, Cost> canonicalCostsMap = new ConcurrentHashMap<>();
     private final Map<Long, Map<Long, Double>> costGraph = new ConcurrentHashMap<>();
     private final Map<Long, String> salePointNames = new HashMap<>();
+    private final Object graphLock = new Object();
+    private final ExecutorService eventDispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cost-graph-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile CostGraph graphSnapshot = CostGraph.EMPTY;
+
+    private boolean contextRefreshed;
+
+    private boolean eventsHeldBack;
 
     private final CostRepository costRepository;
 
@@ -34,6 +54,8 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
 
     private final CostUtils costUtils;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     @PostConstruct
     public void initCache() {
         log.info(Constants.INIT_CACHE);
@@ -75,17 +97,29 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
     @Override
     @CachePut(value = "costs", key = "#cost.id")
     public void add(Cost cost) {
-        if (cost == null || cost.getId() == null || cost.getId().getFromId() == null || cost.getId().getToId() == null) {
+        if (!hasCompleteId(cost)) {
             log.warn(Constants.CREATING_COST_WITH_NULL_ID_ATTEMPT, cost);
             return;
         }
 
+        synchronized (graphLock) {
+            Double previousCost = putCost(cost);
+            CostId canonicalId = costUtils.createOrderedCostId(cost.getId().getFromId(), cost.getId().getToId());
+            dispatch(publishGraphSnapshot(canonicalId, previousCost, cost.getCost()));
+        }
+    }
+
+    private boolean hasCompleteId(Cost cost) {
+        return cost != null && cost.getId() != null && cost.getId().getFromId() != null && cost.getId().getToId() != null;
+    }
+
+    private Double putCost(Cost cost) {
         CostId canonicalId = costUtils.createOrderedCostId(cost.getId().getFromId(), cost.getId().getToId());
 
         Cost costToCache = new Cost(canonicalId, cost.getCost(), cost.getCreatedAt(), cost.getUpdatedAt(), cost.getDeletedAt());
 
         log.info(Constants.CREATING_UPDATING_COST_IN_CACHE, canonicalId, costToCache.getCost());
-        canonicalCostsMap.put(canonicalId, costToCache);
+        Cost previous = canonicalCostsMap.put(canonicalId, costToCache);
 
         Long from = canonicalId.getFromId();
         Long to = canonicalId.getToId();
@@ -95,6 +129,7 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
         costGraph.computeIfAbsent(to, k -> new ConcurrentHashMap<>()).put(from, value);
 
         log.info(Constants.COST_GRAPH_UPDATED_SUCCESSFULLY, from, to, value);
+        return previous != null ? previous.getCost() : null;
     }
 
     @Override
@@ -115,7 +150,14 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
         CostId canonicalId = costUtils.createOrderedCostId(costId.getFromId(), costId.getToId());
         log.info(Constants.DELETING_COST_IN_CACHE, canonicalId);
 
-        canonicalCostsMap.remove(canonicalId);
+        synchronized (graphLock) {
+            Double previousCost = removeCost(canonicalId);
+            dispatch(publishGraphSnapshot(canonicalId, previousCost, null));
+        }
+    }
+
+    private Double removeCost(CostId canonicalId) {
+        Cost previous = canonicalCostsMap.remove(canonicalId);
 
         Long from = canonicalId.getFromId();
         Long to = canonicalId.getToId();
@@ -136,6 +178,7 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
             }
         }
         log.info(Constants.COST_IN_CACHE_DELETED_SUCCESSFULLY, from, to);
+        return previous != null ? previous.getCost() : null;
     }
 
     @Override
@@ -166,22 +209,85 @@ public class CostCacheManagerImplementation implements CacheManager<CostId, Cost
     @Override
     public void bulkLoad(Set<Cost> values) {
         log.info(Constants.PERFORMING_BULK_LOAD_IN_CACHE, values != null ? values.size() : 0);
-        canonicalCostsMap.clear();
-        costGraph.clear();
 
-        if (values != null) {
-            values.forEach(this::add);
+        synchronized (graphLock) {
+            canonicalCostsMap.clear();
+            costGraph.clear();
+
+            if (values != null) {
+                values.forEach(cost -> {
+                    if (hasCompleteId(cost)) {
+                        putCost(cost);
+                    } else {
+                        log.warn(Constants.CREATING_COST_WITH_NULL_ID_ATTEMPT, cost);
+                    }
+                });
+            }
+            dispatch(publishGraphSnapshot(null, null, null));
         }
         log.info(Constants.BULK_LOAD_IN_CACHE_SUCCESSFULLY, canonicalCostsMap.size());
     }
 
     @Override
-    public Map<Long, Map<Long, Double>> getGraph() {
-        log.info(Constants.GET_COST_GRAPH, costGraph.size());
+    public CostGraph getGraphSnapshot() {
+        CostGraph snapshot = graphSnapshot;
+        log.info(Constants.GET_COST_GRAPH, snapshot.nodeCount());
+        return snapshot;
+    }
+
+    private CostGraphChangedEvent publishGraphSnapshot(CostId changedId, Double previousCost, Double newCost) {
+        CostGraph previous = graphSnapshot;
+        CostGraph snapshot = null;
+        if (changedId != null && previousCost != null && newCost != null) {
+            snapshot = previous.withWeight(previous.version() + 1, changedId.getFromId(), changedId.getToId(), newCost);
+        }
+        if (snapshot == null) {
+            snapshot = CostGraph.fromAdjacency(previous.version() + 1, costGraph, previous);
+        }
+        graphSnapshot = snapshot;
+        log.info(Constants.COST_GRAPH_SNAPSHOT_PUBLISHED, snapshot.version(), snapshot.nodeCount(), snapshot.edgeCount());
 
-        Map<Long, Map<Long, Double>> unmodifiableGraph = new HashMap<>();
-        costGraph.forEach((key, valueMap) -> unmodifiableGraph.put(key, Collections.unmodifiableMap(new HashMap<>(valueMap))));
+        return changedId == null
+                ? CostGraphChangedEvent.reload(snapshot)
+                : new CostGraphChangedEvent(snapshot, changedId.getFromId(), changedId.getToId(), previousCost, newCost);
+    }
+
+    /**
+     * Releases the changes made while the context was still starting as one reload event.
+     * Listeners are only registered once every singleton exists, so anything published from
+     * {@link #initCache()} would otherwise be lost.
+     */
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        synchronized (graphLock) {
+            contextRefreshed = true;
+            if (!eventsHeldBack) return;
+            eventsHeldBack = false;
+            log.info(Constants.COST_GRAPH_EVENTS_RELEASED, graphSnapshot.version());
+            dispatch(CostGraphChangedEvent.reload(graphSnapshot));
+        }
+    }
+
+    /**
+     * Queues the event on the single dispatch thread. Callers hold {@code graphLock} from the
+     * version bump until here, so events are queued in version order. Queuing never blocks.
+     */
+    private void dispatch(CostGraphChangedEvent event) {
+        if (!contextRefreshed) {
+            eventsHeldBack = true;
+            return;
+        }
+        eventDispatcher.execute(() -> {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.error(Constants.COST_GRAPH_EVENT_FAILED, event.graph().version(), e);
+            }
+        });
+    }
 
-        return Collections.unmodifiableMap(unmodifiableGraph);
+    @PreDestroy
+    public void shutdown() {
+        eventDispatcher.shutdownNow();
     }
 }
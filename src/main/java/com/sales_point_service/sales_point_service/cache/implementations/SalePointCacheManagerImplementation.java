@@ -1,6 +1,7 @@
 package com.sales_point_service.sales_point_service.cache.implementations;
 
 import com.sales_point_service.sales_point_service.cache.interfaces.CacheManager;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
 import com.sales_point_service.sales_point_service.models.SalePoint;
 import com.sales_point_service.sales_point_service.repositories.SalePointRepository;
 import jakarta.annotation.PostConstruct;
@@ -80,7 +81,7 @@ public class SalePointCacheManagerImplementation implements CacheManager<Long, S
     }
 
     @Override
-    public Map<Long, Map<Long, Double>> getGraph() {
-        return Map.of();
+    public CostGraph getGraphSnapshot() {
+        return CostGraph.EMPTY;
     }
 }
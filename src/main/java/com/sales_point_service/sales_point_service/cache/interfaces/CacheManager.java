@@ -1,6 +1,7 @@
 package com.sales_point_service.sales_point_service.cache.interfaces;
 
-import java.util.Map;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
 import java.util.Set;
 
 public interface CacheManager<ID, T> {
@@ -16,5 +17,5 @@ public interface CacheManager<ID, T> {
     boolean isEmpty();
     void bulkLoad(Set<T> values);
 
-    Map<Long, Map<Long, Double>> getGraph();
+    CostGraph getGraphSnapshot();
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.sales_point_service.sales_point_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class ComputePoolConfig {
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool routingComputePool(@Value("${routing.compute.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
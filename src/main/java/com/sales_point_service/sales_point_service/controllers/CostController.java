@@ -1,8 +1,23 @@
 package com.sales_point_service.sales_point_service.controllers;
 
+import com.sales_point_service.sales_point_service.dtos.BackboneDTO;
+import com.sales_point_service.sales_point_service.dtos.ConnectivityDTO;
 import com.sales_point_service.sales_point_service.dtos.CostDTO;
+import com.sales_point_service.sales_point_service.dtos.CostMatrixDTO;
+import com.sales_point_service.sales_point_service.dtos.CostMatrixRequest;
 import com.sales_point_service.sales_point_service.dtos.CreateCostRequest;
+import com.sales_point_service.sales_point_service.dtos.DistanceEstimateDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfRequest;
+import com.sales_point_service.sales_point_service.dtos.NearestSalePointDTO;
+import com.sales_point_service.sales_point_service.dtos.ReachableSalePointDTO;
 import com.sales_point_service.sales_point_service.dtos.ShortestPathDTO;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathOptions;
+import com.sales_point_service.sales_point_service.dtos.TourDTO;
+import com.sales_point_service.sales_point_service.dtos.TourRequest;
+import com.sales_point_service.sales_point_service.dtos.WhatIfRequest;
+import com.sales_point_service.sales_point_service.dtos.WhatIfRouteDTO;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
 import com.sales_point_service.sales_point_service.services.CostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,7 +30,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Set;
 
 @Tag(name = "Costs", description = "Cost Controller")
@@ -67,20 +84,191 @@ public class CostController {
     }
 
 
+    @Operation(summary = "Get shortest path", description = "Finds the cheapest path between two sale points, optionally avoiding sale points or links (fromId-toId) and capping the number of links. The engine is chosen from the graph size and index freshness unless the engine parameter forces one. The X-Deadline-Ms header bounds the search time")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Shortest path found",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ShortestPathDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input data"),
             @ApiResponse(responseCode = "404", description = "Path not found"),
+            @ApiResponse(responseCode = "503", description = "Search budget exhausted"),
+            @ApiResponse(responseCode = "504", description = "Deadline exceeded"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     @GetMapping("/shortest-path")
     public ResponseEntity<ShortestPathDTO> getShortestPath(
+            @RequestParam Long from,
+            @RequestParam Long to,
+            @RequestParam(required = false) List<Long> avoidNodes,
+            @RequestParam(required = false) List<String> avoidEdges,
+            @RequestParam(required = false) Integer maxHops,
+            @RequestParam(required = false) RoutingAlgorithm engine,
+            @RequestHeader(value = "X-Deadline-Ms", required = false) Long deadlineMs
+    ) {
+        return costService.getShortestPath(from, to, new ShortestPathOptions(avoidNodes, avoidEdges, maxHops, deadlineMs, engine));
+    }
+
+
+    @Operation(summary = "Check connectivity", description = "Tells whether any path exists between two sale points")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Connectivity resolved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ConnectivityDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/connected")
+    public ResponseEntity<ConnectivityDTO> isConnected(
             @RequestParam Long from,
             @RequestParam Long to
     ) {
-        return costService.getShortestPath(from, to);
+        return costService.isConnected(from, to);
+    }
+
+
+    @Operation(summary = "Estimate cost", description = "Returns a precomputed landmark estimate of the cost between two sale points without searching the graph. Every response carries a guaranteed bound. When lowerBoundOnly is false, the estimate is upperBound, the true cost lies between lowerBound and upperBound, and the estimate exceeds it by at most maxError. observedStretch is upperBound divided by lowerBound and is null when the lower bound is 0. When lowerBoundOnly is true, no landmark path joins the pair: the estimate is the lower bound only, the true cost is at least that value, and upperBound, maxError and observedStretch are null")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Estimate computed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DistanceEstimateDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Sale point not found or not connected"),
+            @ApiResponse(responseCode = "503", description = "Estimates are being rebuilt"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/estimate")
+    public ResponseEntity<DistanceEstimateDTO> getDistanceEstimate(
+            @RequestParam Long from,
+            @RequestParam Long to
+    ) {
+        return costService.getDistanceEstimate(from, to);
+    }
+
+
+    @Operation(summary = "Get k shortest paths", description = "Finds up to k loopless paths between two sale points ordered by total cost")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Paths found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ShortestPathDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Path not found"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/shortest-paths")
+    public ResponseEntity<List<ShortestPathDTO>> getKShortestPaths(
+            @RequestParam Long from,
+            @RequestParam Long to,
+            @RequestParam(defaultValue = "3") int k
+    ) {
+        return costService.getKShortestPaths(from, to, k);
+    }
+
+
+    @Operation(summary = "Get nearest sale points", description = "Finds the k sale points that are cheapest to reach from an origin")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Nearest sale points ordered by cost",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NearestSalePointDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Origin not found in the graph"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearestSalePointDTO>> getNearestSalePoints(
+            @RequestParam Long from,
+            @RequestParam(defaultValue = "5") int k
+    ) {
+        return costService.getNearestSalePoints(from, k);
+    }
+
+
+    @Operation(summary = "Get nearest of a candidate set", description = "Finds the candidate cheapest to reach from an origin, or cheapest to reach a target from, with its path and the runner-up costs")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Nearest candidate found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = NearestOfDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "No candidate reachable"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PostMapping("/nearest-of")
+    public ResponseEntity<NearestOfDTO> getNearestOf(@RequestBody NearestOfRequest request) {
+        return costService.getNearestOf(request);
+    }
+
+
+    @Operation(summary = "Get cost matrix", description = "Returns the shortest path cost between every source and every target, optionally with the paths")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Cost matrix computed",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = CostMatrixDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Sale point not found in the graph"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PostMapping("/matrix")
+    public ResponseEntity<CostMatrixDTO> getCostMatrix(@RequestBody CostMatrixRequest request) {
+        return costService.getCostMatrix(request);
+    }
+
+
+    @Operation(summary = "Optimize a tour", description = "Orders the given stops to minimize total cost and returns the legs between consecutive stops")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tour optimized",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TourDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Stop not found or not connected"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PostMapping("/tour")
+    public ResponseEntity<TourDTO> getTour(@RequestBody TourRequest request) {
+        return costService.getTour(request);
+    }
+
+
+    @Operation(summary = "Evaluate cost changes", description = "Compares routes on the live costs with the same routes after applying temporary cost overrides or removals, without changing stored costs")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Routes evaluated",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = WhatIfRouteDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Sale point not found"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @PostMapping("/what-if")
+    public ResponseEntity<List<WhatIfRouteDTO>> evaluateWhatIf(@RequestBody WhatIfRequest request) {
+        return costService.evaluateWhatIf(request);
+    }
+
+
+    @Operation(summary = "Get network backbone", description = "Returns the cheapest set of links that keeps every connected group of sale points connected")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Minimum spanning forest of the cost graph",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BackboneDTO.class))),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/backbone")
+    public ResponseEntity<BackboneDTO> getBackbone() {
+        return costService.getBackbone();
+    }
+
+
+    @Operation(summary = "Get reachable sale points", description = "Streams every sale point reachable from an origin within a maximum cost, one JSON object per line")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Reachable sale points streamed in increasing cost order",
+                    content = @Content(mediaType = "application/x-ndjson",
+                            schema = @Schema(implementation = ReachableSalePointDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Origin not found in the graph"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/reachable")
+    public ResponseEntity<StreamingResponseBody> getReachableSalePoints(
+            @RequestParam Long from,
+            @RequestParam Double maxCost,
+            @RequestParam(defaultValue = "false") boolean includePredecessor
+    ) {
+        return costService.getReachableSalePoints(from, maxCost, includePredecessor);
     }
 
 
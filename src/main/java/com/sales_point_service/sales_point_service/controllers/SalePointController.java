@@ -1,8 +1,10 @@
 package com.sales_point_service.sales_point_service.controllers;
 
 import com.sales_point_service.sales_point_service.dtos.CreateSalePointRequest;
+import com.sales_point_service.sales_point_service.dtos.HubDTO;
 import com.sales_point_service.sales_point_service.dtos.SalePointDTO;
 import com.sales_point_service.sales_point_service.dtos.UpdateSalePointRequest;
+import com.sales_point_service.sales_point_service.services.AnalyticsService;
 import com.sales_point_service.sales_point_service.services.SalePointService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +18,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Set;
 
 @Tag(name = "Sales Point", description = "Sales Point Controller")
@@ -27,6 +30,8 @@ public class SalePointController {
 
     private final SalePointService salePointService;
 
+    private final AnalyticsService analyticsService;
+
     @Operation(summary = "Get all sale points", description = "Returns all sale points stored in the system")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "List of all sale points",
@@ -92,4 +97,19 @@ public class SalePointController {
     public ResponseEntity<String> deleteSalePoint(@PathVariable Long id) {
         return salePointService.deleteSalePoint(id);
     }
+
+
+    @Operation(summary = "Get hub sale points", description = "Returns the sale points with the highest betweenness centrality, as computed by the background analytics job")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Hubs ordered by betweenness",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HubDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "503", description = "Centrality not computed yet"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping("/analytics/hubs")
+    public ResponseEntity<List<HubDTO>> getHubs(@RequestParam(defaultValue = "10") int limit) {
+        return analyticsService.getHubs(limit);
+    }
 }
@@ -0,0 +1,6 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
+public record CentralityResult(CostGraph graph, double[] betweenness, double[] closeness, int sampledSources) {
+}
@@ -0,0 +1,4 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+public record ConnectivityDTO(Long from, Long to, Boolean connected) {
+}
@@ -0,0 +1,6 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+import java.util.List;
+
+public record CostMatrixDTO(List<Long> sources, List<Long> targets, List<List<Double>> costs, List<List<List<SalePointPathItem>>> paths) {
+}
@@ -0,0 +1,5 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+public record DistanceEstimateDTO(Long from, Long to, Double estimate, Double lowerBound, Double upperBound,
+                                  Double maxError, Double observedStretch, boolean lowerBoundOnly) {
+}
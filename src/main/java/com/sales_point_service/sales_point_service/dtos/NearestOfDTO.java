@@ -0,0 +1,6 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+import java.util.List;
+
+public record NearestOfDTO(Long winnerId, String winnerName, Double cost, List<SalePointPathItem> path, List<NearestSalePointDTO> runnersUp) {
+}
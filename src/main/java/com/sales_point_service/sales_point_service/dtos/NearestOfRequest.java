@@ -0,0 +1,6 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+import java.util.List;
+
+public record NearestOfRequest(Long origin, Long target, List<Long> candidates, Integer runnersUp) {
+}
@@ -0,0 +1,19 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+public record OneToAllResult(int source, double[] distances, int[] predecessors) {
+
+    public int[] pathTo(int target) {
+        if (distances[target] == Double.POSITIVE_INFINITY) {
+            return new int[0];
+        }
+        int hops = 0;
+        for (int at = target; at >= 0; at = predecessors[at]) {
+            hops++;
+        }
+        int[] path = new int[hops];
+        for (int at = target; at >= 0; at = predecessors[at]) {
+            path[--hops] = at;
+        }
+        return path;
+    }
+}
@@ -1,4 +1,4 @@
 package com.sales_point_service.sales_point_service.dtos;
 
-public record NodeDistance(Long node, Double distance) {
+public record RouteQuery(Long from, Long to) {
 }
@@ -0,0 +1,20 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+
+import java.util.List;
+
+public record ShortestPathOptions(List<Long> avoidNodes, List<String> avoidEdges, Integer maxHops, Long deadlineMs,
+                                  RoutingAlgorithm engine) {
+
+    public static final ShortestPathOptions NONE = new ShortestPathOptions(null, null, null, null, null);
+
+    public ShortestPathOptions {
+        avoidNodes = avoidNodes == null ? List.of() : List.copyOf(avoidNodes);
+        avoidEdges = avoidEdges == null ? List.of() : List.copyOf(avoidEdges);
+    }
+
+    public boolean isConstrained() {
+        return !avoidNodes.isEmpty() || !avoidEdges.isEmpty() || maxHops != null;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+public record ShortestPathResult(int[] path, double cost, int settledNodes) {
+
+    public static ShortestPathResult notFound(int settledNodes) {
+        return new ShortestPathResult(new int[0], Double.POSITIVE_INFINITY, settledNodes);
+    }
+
+    public boolean found() {
+        return path.length > 0;
+    }
+}
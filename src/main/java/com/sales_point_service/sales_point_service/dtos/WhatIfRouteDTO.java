@@ -0,0 +1,4 @@
+package com.sales_point_service.sales_point_service.dtos;
+
+public record WhatIfRouteDTO(Long from, Long to, ShortestPathDTO current, ShortestPathDTO proposed, Double costDelta) {
+}
@@ -0,0 +1,16 @@
+package com.sales_point_service.sales_point_service.enums;
+
+public enum RoutingAlgorithm {
+    AUTO,
+    DIJKSTRA,
+    BIDIRECTIONAL_DIJKSTRA,
+    ALT,
+    CONTRACTION_HIERARCHIES,
+    CUSTOMIZABLE_OVERLAY,
+    DISTANCE_MATRIX,
+    BUCKET_QUEUE;
+
+    public boolean canSelect(RoutingAlgorithm engine) {
+        return this == AUTO || this == engine;
+    }
+}
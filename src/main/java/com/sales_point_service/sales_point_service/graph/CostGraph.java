@@ -0,0 +1,149 @@
+package com.sales_point_service.sales_point_service.graph;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable compressed-sparse-row snapshot of the cost graph.
+ * Sale point ids are mapped to dense indices in ascending id order; the arcs of
+ * node {@code i} live in {@code [firstEdge(i), endEdge(i))} of the target/weight arrays.
+ */
+public final class CostGraph {
+
+    public static final CostGraph EMPTY = new CostGraph(0L, new long[0], new int[1], new int[0], new double[0]);
+
+    private final long version;
+    private final long[] nodeIds;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+
+    private CostGraph(long version, long[] nodeIds, int[] offsets, int[] targets, double[] weights) {
+        this.version = version;
+        this.nodeIds = nodeIds;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static CostGraph fromAdjacency(long version, Map<Long, ? extends Map<Long, Double>> adjacency, CostGraph previous) {
+        long[] ids = adjacency.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+        if (previous != null && Arrays.equals(ids, previous.nodeIds)) {
+            ids = previous.nodeIds;
+        }
+
+        int nodeCount = ids.length;
+        int[] offsets = new int[nodeCount + 1];
+        int[][] rowTargets = new int[nodeCount][];
+        double[][] rowWeights = new double[nodeCount][];
+
+        for (int i = 0; i < nodeCount; i++) {
+            Map<Long, Double> neighbors = adjacency.get(ids[i]);
+            int[] rowT = new int[neighbors == null ? 0 : neighbors.size()];
+            double[] rowW = new double[rowT.length];
+            int degree = 0;
+            if (neighbors != null) {
+                for (Map.Entry<Long, Double> entry : neighbors.entrySet()) {
+                    int target = Arrays.binarySearch(ids, entry.getKey());
+                    if (target < 0 || degree == rowT.length) continue;
+                    rowT[degree] = target;
+                    rowW[degree] = entry.getValue();
+                    degree++;
+                }
+            }
+            rowTargets[i] = rowT;
+            rowWeights[i] = rowW;
+            offsets[i + 1] = offsets[i] + degree;
+        }
+
+        int[] targets = new int[offsets[nodeCount]];
+        double[] weights = new double[offsets[nodeCount]];
+        for (int i = 0; i < nodeCount; i++) {
+            int degree = offsets[i + 1] - offsets[i];
+            System.arraycopy(rowTargets[i], 0, targets, offsets[i], degree);
+            System.arraycopy(rowWeights[i], 0, weights, offsets[i], degree);
+        }
+
+        return new CostGraph(version, ids, offsets, targets, weights);
+    }
+
+    /**
+     * Copy of this snapshot with the cost of an existing link replaced in both directions,
+     * sharing the node and arc arrays; {@code null} when the link is not in the snapshot.
+     */
+    public CostGraph withWeight(long version, long fromId, long toId, double weight) {
+        int from = indexOf(fromId);
+        int to = indexOf(toId);
+        if (from < 0 || to < 0) return null;
+
+        int forward = edgeBetween(from, to);
+        int backward = edgeBetween(to, from);
+        if (forward < 0 || backward < 0) return null;
+
+        double[] patched = weights.clone();
+        patched[forward] = weight;
+        patched[backward] = weight;
+        return new CostGraph(version, nodeIds, offsets, targets, patched);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public boolean isEmpty() {
+        return nodeIds.length == 0;
+    }
+
+    public int indexOf(long salePointId) {
+        int index = Arrays.binarySearch(nodeIds, salePointId);
+        return index >= 0 ? index : -1;
+    }
+
+    public boolean contains(long salePointId) {
+        return indexOf(salePointId) >= 0;
+    }
+
+    public long nodeId(int index) {
+        return nodeIds[index];
+    }
+
+    public int firstEdge(int index) {
+        return offsets[index];
+    }
+
+    public int endEdge(int index) {
+        return offsets[index + 1];
+    }
+
+    public int degree(int index) {
+        return offsets[index + 1] - offsets[index];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+
+    public double weight(int edge) {
+        return weights[edge];
+    }
+
+    public int edgeBetween(int from, int to) {
+        for (int edge = offsets[from]; edge < offsets[from + 1]; edge++) {
+            if (targets[edge] == to) return edge;
+        }
+        return -1;
+    }
+
+    public boolean hasSameNodes(CostGraph other) {
+        return other != null && nodeIds == other.nodeIds;
+    }
+}
@@ -0,0 +1,17 @@
+package com.sales_point_service.sales_point_service.graph;
+
+/**
+ * Published after a new {@link CostGraph} snapshot replaces the previous one.
+ * Single edge changes carry the canonical endpoints and the old/new cost
+ * ({@code null} meaning absent); bulk reloads carry no edge.
+ */
+public record CostGraphChangedEvent(CostGraph graph, Long fromId, Long toId, Double previousCost, Double newCost) {
+
+    public static CostGraphChangedEvent reload(CostGraph graph) {
+        return new CostGraphChangedEvent(graph, null, null, null, null);
+    }
+
+    public boolean isReload() {
+        return fromId == null || toId == null;
+    }
+}
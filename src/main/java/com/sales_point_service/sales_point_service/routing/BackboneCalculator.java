@@ -0,0 +1,115 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Minimum spanning forest of the undirected cost graph (Kruskal). Edges are ranked with a
+ * parallel sort over a primitive weight array, and the forest is kept until the cost
+ * cache publishes a new snapshot.
+ */
+@Component
+public class BackboneCalculator {
+
+    public record Backbone(CostGraph graph, int[] sources, int[] edges, double totalCost, int components) {
+    }
+
+    private volatile Backbone cached;
+
+    public Backbone backbone(CostGraph graph) {
+        Backbone current = cached;
+        if (current != null && current.graph() == graph) {
+            return current;
+        }
+        Backbone computed = compute(graph);
+        cached = computed;
+        return computed;
+    }
+
+    static Backbone compute(CostGraph graph) {
+        int nodeCount = graph.nodeCount();
+        int[] candidates = new int[graph.edgeCount() / 2];
+        int count = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if (node < graph.target(edge)) candidates[count++] = edge;
+            }
+        }
+        candidates = Arrays.copyOf(candidates, count);
+
+        double[] sortedWeights = new double[count];
+        for (int i = 0; i < count; i++) {
+            sortedWeights[i] = graph.weight(candidates[i]);
+        }
+        Arrays.parallelSort(sortedWeights);
+
+        int[] byWeight = new int[count];
+        int[] placed = new int[count];
+        for (int edge : candidates) {
+            int rank = lowerBound(sortedWeights, graph.weight(edge));
+            byWeight[rank + placed[rank]++] = edge;
+        }
+
+        int[] parent = new int[nodeCount];
+        int[] size = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            parent[node] = node;
+            size[node] = 1;
+        }
+
+        int[] forest = new int[Math.max(0, nodeCount - 1)];
+        int[] forestSources = new int[forest.length];
+        int taken = 0;
+        double totalCost = 0.0;
+        for (int i = 0; i < count && taken < forest.length; i++) {
+            int edge = byWeight[i];
+            int source = sourceOf(graph, edge);
+            int rootA = find(parent, source);
+            int rootB = find(parent, graph.target(edge));
+            if (rootA == rootB) continue;
+            if (size[rootA] < size[rootB]) {
+                int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            parent[rootB] = rootA;
+            size[rootA] += size[rootB];
+            forestSources[taken] = source;
+            forest[taken++] = edge;
+            totalCost += graph.weight(edge);
+        }
+        return new Backbone(graph, Arrays.copyOf(forestSources, taken), Arrays.copyOf(forest, taken), totalCost, nodeCount - taken);
+    }
+
+    private static int sourceOf(CostGraph graph, int edge) {
+        int low = 0;
+        int high = graph.nodeCount() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (graph.firstEdge(middle) <= edge) low = middle;
+            else high = middle - 1;
+        }
+        return low;
+    }
+
+    private static int lowerBound(double[] sorted, double value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < value) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    private static int find(int[] parent, int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+}
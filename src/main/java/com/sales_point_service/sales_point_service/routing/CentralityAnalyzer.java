@@ -0,0 +1,166 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.CentralityResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Brandes betweenness and closeness centrality over an immutable snapshot. Sources are
+ * split into chunks that each accumulate into their own array on the shared compute pool. With
+ * sampling, betweenness is scaled up by the sampling ratio and closeness is only known for
+ * the sampled sources.
+ */
+@Component
+public class CentralityAnalyzer {
+
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool analyticsPool;
+
+    private final ThreadLocal<SourceState> states = ThreadLocal.withInitial(SourceState::new);
+
+    public CentralityAnalyzer(ForkJoinPool analyticsPool) {
+        this.analyticsPool = analyticsPool;
+    }
+
+    private static final class SourceState {
+        private final SearchWorkspace workspace = new SearchWorkspace();
+        private int[] order = new int[0];
+        private int[] position = new int[0];
+        private double[] paths = new double[0];
+        private double[] dependency = new double[0];
+
+        private void ensureCapacity(int nodeCount) {
+            if (order.length < nodeCount) {
+                order = new int[nodeCount];
+                position = new int[nodeCount];
+                paths = new double[nodeCount];
+                dependency = new double[nodeCount];
+            }
+        }
+    }
+
+    public CentralityResult compute(CostGraph graph, int sampleSources, long seed, AtomicInteger processedSources) {
+        int nodeCount = graph.nodeCount();
+        int[] sources = selectSources(nodeCount, sampleSources, seed);
+        double[] closeness = new double[nodeCount];
+        Arrays.fill(closeness, Double.NaN);
+
+        int chunks = Math.max(1, Math.min(sources.length, analyticsPool.getParallelism() * CHUNKS_PER_THREAD));
+        double[] betweenness = analyticsPool.submit(() -> IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    double[] partial = new double[nodeCount];
+                    for (int i = chunk; i < sources.length; i += chunks) {
+                        closeness[sources[i]] = accumulate(graph, sources[i], partial);
+                        processedSources.incrementAndGet();
+                    }
+                    return partial;
+                })
+                .reduce(new double[nodeCount], CentralityAnalyzer::sum)).join();
+
+        double scale = sources.length == 0 ? 0.0 : (double) nodeCount / sources.length / 2.0;
+        for (int node = 0; node < nodeCount; node++) {
+            betweenness[node] *= scale;
+        }
+        return new CentralityResult(graph, betweenness, closeness, sources.length);
+    }
+
+    private double accumulate(CostGraph graph, int source, double[] betweenness) {
+        SourceState state = states.get();
+        SearchWorkspace workspace = state.workspace;
+        int nodeCount = graph.nodeCount();
+        state.ensureCapacity(nodeCount);
+        workspace.reset(nodeCount);
+        workspace.relax(source, 0.0, -1);
+
+        int settled = 0;
+        double distanceSum = 0.0;
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            double base = workspace.distance(node);
+            state.position[node] = settled;
+            state.order[settled++] = node;
+            distanceSum += base;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+
+        double[] paths = state.paths;
+        double[] dependency = state.dependency;
+        for (int i = 0; i < settled; i++) {
+            int node = state.order[i];
+            dependency[node] = 0.0;
+            if (node == source) {
+                paths[node] = 1.0;
+                continue;
+            }
+            double count = 0.0;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (isPredecessor(graph, state, neighbor, node, edge)) count += paths[neighbor];
+            }
+            paths[node] = count;
+        }
+
+        for (int i = settled - 1; i > 0; i--) {
+            int node = state.order[i];
+            double share = (1.0 + dependency[node]) / paths[node];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (isPredecessor(graph, state, neighbor, node, edge)) {
+                    dependency[neighbor] += paths[neighbor] * share;
+                }
+            }
+            betweenness[node] += dependency[node];
+        }
+
+        int reached = settled - 1;
+        if (reached == 0 || distanceSum == 0.0) return 0.0;
+        return (double) reached / distanceSum * ((double) reached / Math.max(1, nodeCount - 1));
+    }
+
+    /**
+     * A neighbour precedes {@code node} when it lies on a shortest path to it and was settled
+     * first. Settle order rather than strict distance keeps zero-cost links in the DAG.
+     */
+    private static boolean isPredecessor(CostGraph graph, SourceState state, int candidate, int node, int edge) {
+        SearchWorkspace workspace = state.workspace;
+        return candidate != node && workspace.isSettled(candidate)
+                && workspace.distance(candidate) + graph.weight(edge) == workspace.distance(node)
+                && state.position[candidate] < state.position[node];
+    }
+
+    private static int[] selectSources(int nodeCount, int sampleSources, long seed) {
+        int[] sources = IntStream.range(0, nodeCount).toArray();
+        if (sampleSources <= 0 || sampleSources >= nodeCount) return sources;
+
+        Random random = new Random(seed);
+        for (int i = 0; i < sampleSources; i++) {
+            int j = i + random.nextInt(nodeCount - i);
+            int swap = sources[i];
+            sources[i] = sources[j];
+            sources[j] = swap;
+        }
+        return Arrays.copyOf(sources, sampleSources);
+    }
+
+    private static double[] sum(double[] left, double[] right) {
+        double[] total = new double[left.length];
+        for (int i = 0; i < total.length; i++) {
+            total[i] = left[i] + right[i];
+        }
+        return total;
+    }
+
+}
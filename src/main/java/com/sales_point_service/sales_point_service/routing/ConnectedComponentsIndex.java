@@ -0,0 +1,156 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable node to component labels per snapshot, published so reads take no lock. Cost
+ * changes keep the labels, a new link between two components relabels the smaller one, and
+ * removals or reloads relabel the whole snapshot on the change thread. A published index is
+ * only ever replaced by one for a newer version.
+ */
+@Component
+public class ConnectedComponentsIndex {
+
+    private record Components(CostGraph graph, int[] componentOf, int[] componentSize, int componentCount, int largestSize) {
+    }
+
+    private final AtomicReference<Components> published = new AtomicReference<>(label(CostGraph.EMPTY));
+
+    public ConnectedComponentsIndex(MeterRegistry meterRegistry) {
+        Gauge.builder("routing.components.count", this, ConnectedComponentsIndex::componentCount)
+                .description("Connected components of the cost graph")
+                .register(meterRegistry);
+        Gauge.builder("routing.components.largest.size", this, ConnectedComponentsIndex::largestComponentSize)
+                .description("Sale points in the largest connected component")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onGraphChanged(CostGraphChangedEvent event) {
+        CostGraph graph = event.graph();
+        Components current = published.get();
+        if (graph.version() <= current.graph().version()) return;
+
+        boolean incremental = !event.isReload() && current.graph().version() == graph.version() - 1
+                && graph.hasSameNodes(current.graph());
+        publish(incremental ? apply(current, graph, event) : label(graph));
+    }
+
+    /**
+     * Exact answer for {@code graph}. Labels the snapshot when the published index belongs to
+     * another version, and publishes them only if that version is newer.
+     */
+    public boolean connected(CostGraph graph, long fromId, long toId) {
+        if (fromId == toId) return true;
+        return sameComponent(componentsOf(graph), fromId, toId);
+    }
+
+    /**
+     * O(1) early rejection for route queries. Answers {@code false} whenever the published index
+     * does not belong to {@code graph}, so the caller falls through to its search instead of
+     * waiting for a relabel.
+     */
+    public boolean isKnownDisconnected(CostGraph graph, long fromId, long toId) {
+        Components current = published.get();
+        return fromId != toId && current.graph() == graph && !sameComponent(current, fromId, toId);
+    }
+
+    public int componentCount() {
+        return published.get().componentCount();
+    }
+
+    public int largestComponentSize() {
+        return published.get().largestSize();
+    }
+
+    private Components componentsOf(CostGraph graph) {
+        Components current = published.get();
+        if (current.graph() == graph) return current;
+
+        Components labelled = label(graph);
+        publish(labelled);
+        return labelled;
+    }
+
+    private void publish(Components next) {
+        Components current;
+        do {
+            current = published.get();
+            if (next.graph().version() <= current.graph().version()) return;
+        } while (!published.compareAndSet(current, next));
+    }
+
+    private static boolean sameComponent(Components components, long fromId, long toId) {
+        int from = components.graph().indexOf(fromId);
+        int to = components.graph().indexOf(toId);
+        return from >= 0 && to >= 0 && components.componentOf()[from] == components.componentOf()[to];
+    }
+
+    private static Components apply(Components current, CostGraph graph, CostGraphChangedEvent event) {
+        if (event.newCost() == null) return label(graph);
+        if (event.previousCost() != null) {
+            return new Components(graph, current.componentOf(), current.componentSize(), current.componentCount(), current.largestSize());
+        }
+
+        int kept = current.componentOf()[graph.indexOf(event.fromId())];
+        int merged = current.componentOf()[graph.indexOf(event.toId())];
+        if (kept == merged) {
+            return new Components(graph, current.componentOf(), current.componentSize(), current.componentCount(), current.largestSize());
+        }
+        if (current.componentSize()[kept] < current.componentSize()[merged]) {
+            int swap = kept;
+            kept = merged;
+            merged = swap;
+        }
+
+        int[] componentOf = current.componentOf().clone();
+        int[] componentSize = current.componentSize().clone();
+        for (int node = 0; node < componentOf.length; node++) {
+            if (componentOf[node] == merged) componentOf[node] = kept;
+        }
+        componentSize[kept] += componentSize[merged];
+        componentSize[merged] = 0;
+        return new Components(graph, componentOf, componentSize, current.componentCount() - 1,
+                Math.max(current.largestSize(), componentSize[kept]));
+    }
+
+    private static Components label(CostGraph graph) {
+        int nodeCount = graph.nodeCount();
+        int[] componentOf = new int[nodeCount];
+        Arrays.fill(componentOf, -1);
+        int[] componentSize = new int[nodeCount];
+        int[] stack = new int[nodeCount];
+        int componentCount = 0;
+        int largestSize = 0;
+
+        for (int root = 0; root < nodeCount; root++) {
+            if (componentOf[root] >= 0) continue;
+
+            int component = componentCount++;
+            int top = 0;
+            stack[top++] = root;
+            componentOf[root] = component;
+            while (top > 0) {
+                int node = stack[--top];
+                componentSize[component]++;
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (componentOf[neighbor] < 0) {
+                        componentOf[neighbor] = component;
+                        stack[top++] = neighbor;
+                    }
+                }
+            }
+            largestSize = Math.max(largestSize, componentSize[component]);
+        }
+        return new Components(graph, componentOf, Arrays.copyOf(componentSize, componentCount), componentCount, largestSize);
+    }
+}
@@ -0,0 +1,81 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.CostMatrixResult;
+import com.sales_point_service.sales_point_service.dtos.OneToAllResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Many-to-many costs: one one-to-many search per distinct source, stopped once every
+ * distinct target is settled, with the sources spread over the shared compute pool. When there are
+ * fewer sources than workers on a graph large enough for delta-stepping, the parallelism
+ * goes into each one-to-all search instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class CostMatrixCalculator {
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final OneToAllSearch oneToAllSearch;
+
+    private final ForkJoinPool matrixPool;
+
+    public CostMatrixResult compute(CostGraph graph, int[] sources, int[] targets, boolean withPaths) {
+        BitSet targetSet = new BitSet(graph.nodeCount());
+        for (int target : targets) {
+            targetSet.set(target);
+        }
+        int targetCount = targetSet.cardinality();
+
+        int[] distinctSources = Arrays.stream(sources).distinct().sorted().toArray();
+        double[][] rows = new double[distinctSources.length][];
+        int[][][] rowPaths = withPaths ? new int[distinctSources.length][][] : null;
+
+        if (oneToAllSearch.usesDeltaStepping(graph) && distinctSources.length < matrixPool.getParallelism()) {
+            for (int i = 0; i < distinctSources.length; i++) {
+                OneToAllResult tree = oneToAllSearch.search(graph, distinctSources[i]);
+                double[] row = new double[targets.length];
+                int[][] paths = withPaths ? new int[targets.length][] : null;
+                for (int j = 0; j < targets.length; j++) {
+                    row[j] = tree.distances()[targets[j]];
+                    if (withPaths) paths[j] = tree.pathTo(targets[j]);
+                }
+                rows[i] = row;
+                if (withPaths) rowPaths[i] = paths;
+            }
+        } else {
+            matrixPool.submit(() -> IntStream.range(0, distinctSources.length).parallel().forEach(i -> {
+                SearchWorkspace workspace = dijkstraRoutingEngine.searchToTargets(graph, distinctSources[i], targetSet, targetCount);
+                double[] row = new double[targets.length];
+                int[][] paths = withPaths ? new int[targets.length][] : null;
+                for (int j = 0; j < targets.length; j++) {
+                    row[j] = workspace.distance(targets[j]);
+                    if (withPaths) {
+                        paths[j] = workspace.isSettled(targets[j]) ? workspace.pathTo(targets[j]) : new int[0];
+                    }
+                }
+                rows[i] = row;
+                if (withPaths) rowPaths[i] = paths;
+            })).join();
+        }
+
+        double[][] costs = new double[sources.length][];
+        int[][][] paths = withPaths ? new int[sources.length][][] : null;
+        for (int i = 0; i < sources.length; i++) {
+            int row = Arrays.binarySearch(distinctSources, sources[i]);
+            costs[i] = rows[row];
+            if (withPaths) paths[i] = rowPaths[row];
+        }
+        return new CostMatrixResult(costs, paths);
+    }
+
+}
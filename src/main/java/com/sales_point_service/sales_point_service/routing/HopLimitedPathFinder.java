@@ -0,0 +1,114 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.search.SearchBudget;
+import com.sales_point_service.sales_point_service.routing.search.SearchMask;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cheapest path using at most {@code maxHops} links, by hop-layered Bellman-Ford: layer h
+ * only relaxes arcs out of the nodes improved in layer h - 1. Each layer records just the
+ * nodes it improved and their predecessors, so memory follows the number of improvements
+ * rather than {@code nodes * maxHops}.
+ */
+@Component
+public class HopLimitedPathFinder {
+
+    private record Layer(int[] nodes, int[] predecessors) {
+
+        private int predecessorOf(int node) {
+            int position = Arrays.binarySearch(nodes, node);
+            return position >= 0 ? predecessors[position] : -2;
+        }
+    }
+
+    public ShortestPathResult find(CostGraph graph, int source, int target, int maxHops, SearchMask mask) {
+        int nodeCount = graph.nodeCount();
+        if (mask.isNodeBlocked(source) || mask.isNodeBlocked(target)) {
+            return ShortestPathResult.notFound(0);
+        }
+        if (source == target) {
+            return new ShortestPathResult(new int[]{source}, 0.0, 1);
+        }
+
+        double[] distance = new double[nodeCount];
+        double[] next = new double[nodeCount];
+        int[] layerPredecessor = new int[nodeCount];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0.0;
+
+        SearchBudget budget = SearchBudget.current();
+        List<Layer> layers = new ArrayList<>();
+        int[] frontier = {source};
+        int improvements = 0;
+        for (int hop = 1; hop <= maxHops && frontier.length > 0; hop++) {
+            if (budget != null) budget.charge(frontier.length);
+            System.arraycopy(distance, 0, next, 0, nodeCount);
+            int[] improved = new int[16];
+            int improvedCount = 0;
+
+            for (int node : frontier) {
+                double base = distance[node];
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (mask.isEdgeBlocked(edge) || mask.isNodeBlocked(neighbor)) continue;
+                    double candidate = base + graph.weight(edge);
+                    if (candidate >= next[neighbor] || candidate >= next[target]) continue;
+
+                    if (next[neighbor] == distance[neighbor]) {
+                        if (improvedCount == improved.length) improved = Arrays.copyOf(improved, improvedCount << 1);
+                        improved[improvedCount++] = neighbor;
+                    }
+                    next[neighbor] = candidate;
+                    layerPredecessor[neighbor] = node;
+                }
+            }
+
+            int[] nodes = Arrays.copyOf(improved, improvedCount);
+            Arrays.sort(nodes);
+            int[] predecessors = new int[improvedCount];
+            for (int i = 0; i < improvedCount; i++) {
+                predecessors[i] = layerPredecessor[nodes[i]];
+            }
+            layers.add(new Layer(nodes, predecessors));
+            improvements += improvedCount;
+
+            double[] swap = distance;
+            distance = next;
+            next = swap;
+            frontier = nodes;
+        }
+
+        if (distance[target] == Double.POSITIVE_INFINITY) {
+            return ShortestPathResult.notFound(improvements);
+        }
+        return new ShortestPathResult(pathTo(layers, source, target), distance[target], improvements);
+    }
+
+    private static int[] pathTo(List<Layer> layers, int source, int target) {
+        List<Integer> reversed = new ArrayList<>();
+        reversed.add(target);
+        int node = target;
+        int layer = layers.size() - 1;
+        while (node != source) {
+            int predecessor = layers.get(layer).predecessorOf(node);
+            while (predecessor == -2) {
+                predecessor = layers.get(--layer).predecessorOf(node);
+            }
+            node = predecessor;
+            layer--;
+            reversed.add(node);
+        }
+
+        int[] path = new int[reversed.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+}
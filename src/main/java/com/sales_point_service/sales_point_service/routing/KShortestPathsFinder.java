@@ -0,0 +1,78 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchMask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Yen's k shortest loopless paths. Spur searches share the thread's Dijkstra workspace and
+ * exclude the root path and the already used spur arcs through a {@link SearchMask}.
+ */
+@Component
+@RequiredArgsConstructor
+public class KShortestPathsFinder {
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final ThreadLocal<SearchMask> masks = ThreadLocal.withInitial(SearchMask::new);
+
+    private record Candidate(int[] path, double cost) {
+    }
+
+    public List<ShortestPathResult> find(CostGraph graph, int source, int target, int k) {
+        List<ShortestPathResult> accepted = new ArrayList<>(k);
+        ShortestPathResult first = dijkstraRoutingEngine.shortestPath(graph, source, target);
+        if (!first.found()) return accepted;
+        accepted.add(first);
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::cost));
+        Set<List<Integer>> seen = new HashSet<>();
+        seen.add(asList(first.path()));
+        SearchMask mask = masks.get();
+
+        while (accepted.size() < k) {
+            int[] previous = accepted.get(accepted.size() - 1).path();
+            double rootCost = 0.0;
+
+            for (int i = 0; i < previous.length - 1; i++) {
+                int spurNode = previous[i];
+                mask.clear();
+                for (ShortestPathResult path : accepted) {
+                    int[] nodes = path.path();
+                    if (nodes.length > i + 1 && Arrays.equals(nodes, 0, i + 1, previous, 0, i + 1)) {
+                        mask.blockEdge(graph.edgeBetween(nodes[i], nodes[i + 1]));
+                    }
+                }
+                for (int j = 0; j < i; j++) {
+                    mask.blockNode(previous[j]);
+                }
+
+                ShortestPathResult spur = dijkstraRoutingEngine.shortestPath(graph, spurNode, target, mask);
+                if (spur.found()) {
+                    int[] path = new int[i + spur.path().length];
+                    System.arraycopy(previous, 0, path, 0, i);
+                    System.arraycopy(spur.path(), 0, path, i, spur.path().length);
+                    if (seen.add(asList(path))) {
+                        candidates.add(new Candidate(path, rootCost + spur.cost()));
+                    }
+                }
+
+                rootCost += graph.weight(graph.edgeBetween(spurNode, previous[i + 1]));
+            }
+
+            Candidate best = candidates.poll();
+            if (best == null) break;
+            accepted.add(new ShortestPathResult(best.path(), best.cost(), 0));
+        }
+        return accepted;
+    }
+
+    private static List<Integer> asList(int[] path) {
+        return Arrays.stream(path).boxed().toList();
+    }
+}
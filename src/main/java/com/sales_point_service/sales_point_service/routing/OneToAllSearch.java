@@ -0,0 +1,149 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.OneToAllResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.interfaces.SettledNodeVisitor;
+import com.sales_point_service.sales_point_service.routing.search.DeltaStepping;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * One-to-all searches for matrix, isochrone and landmark work. Graphs with at least
+ * {@code routing.delta-stepping.min-edges} arcs are searched with parallel delta-stepping on
+ * the shared compute pool; smaller ones with the sequential Dijkstra, which wins below that size.
+ */
+@Component
+public class OneToAllSearch {
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final int minEdges;
+
+    private final double delta;
+
+    private final ForkJoinPool searchPool;
+
+    public OneToAllSearch(DijkstraRoutingEngine dijkstraRoutingEngine,
+                          @Value("${routing.delta-stepping.min-edges:200000}") int minEdges,
+                          @Value("${routing.delta-stepping.delta:0}") double delta,
+                          ForkJoinPool searchPool) {
+        this.dijkstraRoutingEngine = dijkstraRoutingEngine;
+        this.searchPool = searchPool;
+        this.minEdges = minEdges;
+        this.delta = delta;
+    }
+
+    public boolean usesDeltaStepping(CostGraph graph) {
+        return graph.edgeCount() >= minEdges;
+    }
+
+    public OneToAllResult search(CostGraph graph, int source) {
+        return search(graph, source, Double.POSITIVE_INFINITY);
+    }
+
+    public double[] distancesFrom(CostGraph graph, int source) {
+        return search(graph, source).distances();
+    }
+
+    /**
+     * Reports every node within {@code maxCost} of {@code source} in increasing cost order,
+     * like {@link DijkstraRoutingEngine#searchWithinBudget}. With delta-stepping the search
+     * finishes first; the reached nodes are then bucketed by cost on primitive arrays and each
+     * bucket is sorted and reported before the next one is touched.
+     */
+    public void searchWithinBudget(CostGraph graph, int source, double maxCost, SettledNodeVisitor visitor) {
+        if (!usesDeltaStepping(graph)) {
+            dijkstraRoutingEngine.searchWithinBudget(graph, source, maxCost, visitor);
+            return;
+        }
+
+        OneToAllResult result = search(graph, source, maxCost);
+        double[] distances = result.distances();
+        int[] predecessors = result.predecessors();
+        int[] reached = IntStream.range(0, graph.nodeCount())
+                .filter(node -> distances[node] <= maxCost && distances[node] < Double.POSITIVE_INFINITY)
+                .toArray();
+        if (reached.length == 0) return;
+
+        double farthest = 0.0;
+        for (int node : reached) {
+            farthest = Math.max(farthest, distances[node]);
+        }
+        int buckets = reached.length;
+        int[] bucketStart = new int[buckets + 1];
+        for (int node : reached) {
+            bucketStart[bucketOf(distances[node], farthest, buckets) + 1]++;
+        }
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketStart[bucket + 1] += bucketStart[bucket];
+        }
+        int[] ordered = new int[reached.length];
+        int[] fill = Arrays.copyOf(bucketStart, buckets);
+        for (int node : reached) {
+            ordered[fill[bucketOf(distances[node], farthest, buckets)]++] = node;
+        }
+
+        int[] scratch = new int[reached.length];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            sortByDistance(ordered, bucketStart[bucket], bucketStart[bucket + 1], distances, scratch);
+            for (int i = bucketStart[bucket]; i < bucketStart[bucket + 1]; i++) {
+                int node = ordered[i];
+                visitor.visit(node, distances[node], predecessors[node]);
+            }
+        }
+    }
+
+    private static int bucketOf(double distance, double farthest, int buckets) {
+        if (farthest == 0.0) return 0;
+        return (int) Math.min(buckets - 1, (long) (distance / farthest * (buckets - 1)));
+    }
+
+    private static void sortByDistance(int[] nodes, int from, int to, double[] distances, int[] scratch) {
+        if (to - from <= 16) {
+            for (int i = from + 1; i < to; i++) {
+                int node = nodes[i];
+                int j = i - 1;
+                while (j >= from && distances[nodes[j]] > distances[node]) {
+                    nodes[j + 1] = nodes[j];
+                    j--;
+                }
+                nodes[j + 1] = node;
+            }
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+        sortByDistance(nodes, from, middle, distances, scratch);
+        sortByDistance(nodes, middle, to, distances, scratch);
+        int left = from, right = middle, out = from;
+        while (left < middle && right < to) {
+            scratch[out++] = distances[nodes[right]] < distances[nodes[left]] ? nodes[right++] : nodes[left++];
+        }
+        while (left < middle) scratch[out++] = nodes[left++];
+        while (right < to) scratch[out++] = nodes[right++];
+        System.arraycopy(scratch, from, nodes, from, to - from);
+    }
+
+    private OneToAllResult search(CostGraph graph, int source, double maxCost) {
+        if (usesDeltaStepping(graph)) {
+            double width = delta > 0.0 ? delta : DeltaStepping.defaultDelta(graph);
+            return DeltaStepping.run(graph, source, width, maxCost, searchPool);
+        }
+
+        SearchWorkspace workspace = dijkstraRoutingEngine.searchAll(graph, source);
+        double[] distances = new double[graph.nodeCount()];
+        int[] predecessors = new int[graph.nodeCount()];
+        for (int node = 0; node < distances.length; node++) {
+            distances[node] = workspace.distance(node);
+            predecessors[node] = workspace.predecessor(node);
+        }
+        return new OneToAllResult(source, distances, predecessors);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class RoutingEngineFactory {
+    private final Map<RoutingAlgorithm, RoutingEngine> routingEngines = new EnumMap<>(RoutingAlgorithm.class);
+
+    @Autowired
+    public RoutingEngineFactory(List<RoutingEngine> engines) {
+        engines.forEach(engine -> routingEngines.put(engine.algorithm(), engine));
+    }
+
+    public RoutingEngine getRoutingEngine(RoutingAlgorithm algorithm) {
+        RoutingEngine engine = routingEngines.get(algorithm);
+        return engine != null ? engine : routingEngines.get(RoutingAlgorithm.DIJKSTRA);
+    }
+
+    public boolean hasRoutingEngine(RoutingAlgorithm algorithm) {
+        return routingEngines.containsKey(algorithm);
+    }
+
+    public Collection<RoutingEngine> getRoutingEngines() {
+        return routingEngines.values();
+    }
+}
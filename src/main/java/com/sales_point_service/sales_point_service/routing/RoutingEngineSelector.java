@@ -0,0 +1,83 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Picks the engine for one query. A per-request override wins, then a fixed
+ * {@code routing.algorithm}; with {@code AUTO} the first preprocessed engine whose index is
+ * fresh for the snapshot is used, in order of query cost. Without one, graphs whose weights
+ * fit the bucket queue use it below the bidirectional threshold, and larger graphs use
+ * bidirectional Dijkstra. Engines quarantined by the startup self-check are never returned;
+ * Dijkstra answers in their place.
+ */
+@Component
+public class RoutingEngineSelector {
+
+    private static final List<RoutingAlgorithm> PREPROCESSED = List.of(
+            RoutingAlgorithm.DISTANCE_MATRIX,
+            RoutingAlgorithm.CONTRACTION_HIERARCHIES,
+            RoutingAlgorithm.CUSTOMIZABLE_OVERLAY,
+            RoutingAlgorithm.ALT);
+
+    private final RoutingEngineFactory routingEngineFactory;
+
+    private final RoutingAlgorithm configuredAlgorithm;
+
+    private final int bidirectionalMinEdges;
+
+    private final Set<RoutingAlgorithm> quarantined = ConcurrentHashMap.newKeySet();
+
+    public RoutingEngineSelector(RoutingEngineFactory routingEngineFactory,
+                                 @Value("${routing.algorithm:AUTO}") RoutingAlgorithm configuredAlgorithm,
+                                 @Value("${routing.selector.bidirectional-min-edges:20000}") int bidirectionalMinEdges) {
+        this.routingEngineFactory = routingEngineFactory;
+        this.configuredAlgorithm = configuredAlgorithm;
+        this.bidirectionalMinEdges = bidirectionalMinEdges;
+    }
+
+    public boolean isSelectable(RoutingAlgorithm algorithm) {
+        return configuredAlgorithm.canSelect(algorithm);
+    }
+
+    public void quarantine(RoutingAlgorithm algorithm) {
+        if (algorithm != RoutingAlgorithm.DIJKSTRA) quarantined.add(algorithm);
+    }
+
+    public boolean isQuarantined(RoutingAlgorithm algorithm) {
+        return quarantined.contains(algorithm);
+    }
+
+    public RoutingEngine select(CostGraph graph, RoutingAlgorithm override) {
+        RoutingAlgorithm requested = override != null ? override : configuredAlgorithm;
+        if (requested != RoutingAlgorithm.AUTO) {
+            return routingEngineFactory.getRoutingEngine(isQuarantined(requested) ? RoutingAlgorithm.DIJKSTRA : requested);
+        }
+
+        for (RoutingAlgorithm algorithm : PREPROCESSED) {
+            if (!isAvailable(algorithm)) continue;
+            RoutingEngine engine = routingEngineFactory.getRoutingEngine(algorithm);
+            if (engine.isReady(graph)) return engine;
+        }
+
+        if (graph.edgeCount() >= bidirectionalMinEdges && isAvailable(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA)) {
+            return routingEngineFactory.getRoutingEngine(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA);
+        }
+        if (isAvailable(RoutingAlgorithm.BUCKET_QUEUE)) {
+            RoutingEngine bucketQueue = routingEngineFactory.getRoutingEngine(RoutingAlgorithm.BUCKET_QUEUE);
+            if (bucketQueue.isReady(graph)) return bucketQueue;
+        }
+        return routingEngineFactory.getRoutingEngine(RoutingAlgorithm.DIJKSTRA);
+    }
+
+    private boolean isAvailable(RoutingAlgorithm algorithm) {
+        return routingEngineFactory.hasRoutingEngine(algorithm) && !isQuarantined(algorithm);
+    }
+}
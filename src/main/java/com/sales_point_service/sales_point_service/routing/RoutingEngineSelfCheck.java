@@ -0,0 +1,169 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.cache.CacheManagerFactory;
+import com.sales_point_service.sales_point_service.cache.interfaces.CacheManager;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.CacheType;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.models.Cost;
+import com.sales_point_service.sales_point_service.models.CostId;
+import com.sales_point_service.sales_point_service.repositories.CostRepository;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Cross-checks every selectable engine against plain Dijkstra on a handful of random pairs
+ * once the application is up. An engine that returns wrong costs on the deployed graph is
+ * quarantined in the selector, which then routes its traffic to Dijkstra. Engines that can
+ * never become ready for the graph are not waited for.
+ */
+@Component
+@Slf4j
+public class RoutingEngineSelfCheck {
+
+    private static final double TOLERANCE = 1e-6;
+
+    private static final long POLL_INTERVAL_MS = 500;
+
+    private final RoutingEngineFactory routingEngineFactory;
+
+    private final RoutingEngineSelector routingEngineSelector;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final CacheManagerFactory cacheManagerFactory;
+
+    private final CostRepository costRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    private final int queries;
+
+    private final long waitMs;
+
+    public RoutingEngineSelfCheck(RoutingEngineFactory routingEngineFactory,
+                                  RoutingEngineSelector routingEngineSelector,
+                                  DijkstraRoutingEngine dijkstraRoutingEngine,
+                                  CacheManagerFactory cacheManagerFactory,
+                                  CostRepository costRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${routing.self-check.enabled:false}") boolean enabled,
+                                  @Value("${routing.self-check.queries:25}") int queries,
+                                  @Value("${routing.self-check.wait-ms:60000}") long waitMs) {
+        this.routingEngineFactory = routingEngineFactory;
+        this.routingEngineSelector = routingEngineSelector;
+        this.dijkstraRoutingEngine = dijkstraRoutingEngine;
+        this.cacheManagerFactory = cacheManagerFactory;
+        this.costRepository = costRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.queries = queries;
+        this.waitMs = waitMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled || queries <= 0) return;
+
+        Thread thread = new Thread(this::runSafely, "routing-self-check");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void runSafely() {
+        try {
+            CacheManager<CostId, Cost> costCache = cacheManagerFactory.getCacheManager(CacheType.COST);
+            if (costCache.isEmpty()) {
+                costCache.bulkLoad(Set.copyOf(costRepository.findAll()));
+            }
+            CostGraph graph = costCache.getGraphSnapshot();
+            if (graph.nodeCount() < 2) return;
+
+            awaitReadiness(graph);
+            check(graph);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error(Constants.ROUTING_SELF_CHECK_FAILED, e);
+        }
+    }
+
+    private void awaitReadiness(CostGraph graph) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + waitMs;
+        while (System.currentTimeMillis() < deadline) {
+            boolean allReady = true;
+            for (RoutingEngine engine : routingEngineFactory.getRoutingEngines()) {
+                if (!routingEngineSelector.isSelectable(engine.algorithm())) continue;
+                allReady &= engine.isReady(graph) || engine.isUnavailable(graph);
+            }
+            if (allReady) return;
+            Thread.sleep(POLL_INTERVAL_MS);
+        }
+    }
+
+    public Map<RoutingAlgorithm, Integer> check(CostGraph graph) {
+        int n = graph.nodeCount();
+        int[][] pairs = new int[queries][];
+        Random random = new Random(graph.version());
+        for (int i = 0; i < queries; i++) {
+            pairs[i] = new int[]{random.nextInt(n), random.nextInt(n)};
+        }
+
+        ShortestPathResult[] expected = new ShortestPathResult[queries];
+        for (int i = 0; i < queries; i++) {
+            expected[i] = dijkstraRoutingEngine.shortestPath(graph, pairs[i][0], pairs[i][1]);
+        }
+
+        log.info(Constants.ROUTING_SELF_CHECK_STARTED, routingEngineFactory.getRoutingEngines().size(), queries);
+        Map<RoutingAlgorithm, Integer> mismatches = new EnumMap<>(RoutingAlgorithm.class);
+        for (RoutingEngine engine : routingEngineFactory.getRoutingEngines()) {
+            if (engine.algorithm() == RoutingAlgorithm.DIJKSTRA) continue;
+            if (!routingEngineSelector.isSelectable(engine.algorithm())) continue;
+            if (!engine.isReady(graph)) {
+                log.warn(Constants.ROUTING_SELF_CHECK_ENGINE_NOT_READY, engine.algorithm(), graph.version());
+                continue;
+            }
+
+            int failed = 0;
+            for (int i = 0; i < queries; i++) {
+                ShortestPathResult actual = engine.shortestPath(graph, pairs[i][0], pairs[i][1]);
+                if (!agrees(expected[i], actual)) {
+                    failed++;
+                    log.error(Constants.ROUTING_SELF_CHECK_MISMATCH, engine.algorithm(),
+                            graph.nodeId(pairs[i][0]), graph.nodeId(pairs[i][1]), expected[i].cost(), actual.cost());
+                }
+            }
+            if (failed == 0) {
+                log.info(Constants.ROUTING_SELF_CHECK_PASSED, engine.algorithm(), queries);
+            } else {
+                log.error(Constants.ROUTING_ENGINE_QUARANTINED, engine.algorithm(), failed, queries);
+                routingEngineSelector.quarantine(engine.algorithm());
+            }
+            meterRegistry.counter("routing.self-check.mismatches", "engine", engine.algorithm().name()).increment(failed);
+            mismatches.put(engine.algorithm(), failed);
+        }
+        return mismatches;
+    }
+
+    private static boolean agrees(ShortestPathResult expected, ShortestPathResult actual) {
+        if (expected.found() != actual.found()) return false;
+        if (!expected.found()) return true;
+        double scale = Math.max(1.0, Math.abs(expected.cost()));
+        return Math.abs(expected.cost() - actual.cost()) <= TOLERANCE * scale;
+    }
+}
@@ -0,0 +1,264 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.models.CostId;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.utils.CostUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded LRU of point-to-point results keyed by the unordered pair, so A to B and B to A
+ * share one entry. Every cached path is indexed by the links it uses: a cost increase or
+ * removal evicts only the paths through that link, and a decrease or insertion evicts only
+ * the pairs whose cost could drop, found with two searches from the link endpoints bounded
+ * by the most expensive cached cost.
+ */
+@Component
+public class ShortestPathResultCache {
+
+    private record CachedPath(CostId pair, long[] nodeIds, double cost, Set<CostId> links) {
+    }
+
+    private final CostUtils costUtils;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final int maxEntries;
+
+    private final Map<CostId, CachedPath> entries;
+
+    private final Map<CostId, Set<CostId>> pairsByLink = new HashMap<>();
+
+    private long version = -1;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter linkEvictions;
+
+    private final Counter improvableEvictions;
+
+    public ShortestPathResultCache(CostUtils costUtils,
+                                   DijkstraRoutingEngine dijkstraRoutingEngine,
+                                   @Value("${routing.result-cache.max-entries:10000}") int maxEntries,
+                                   MeterRegistry meterRegistry) {
+        this.costUtils = costUtils;
+        this.dijkstraRoutingEngine = dijkstraRoutingEngine;
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CostId, CachedPath> eldest) {
+                if (size() <= maxEntries) return false;
+                unindex(eldest.getValue());
+                return true;
+            }
+        };
+        this.hits = Counter.builder("routing.result.cache").tag("result", "hit")
+                .description("Shortest path queries answered from a cached pair result")
+                .register(meterRegistry);
+        this.misses = Counter.builder("routing.result.cache").tag("result", "miss")
+                .description("Shortest path queries without a cached pair result")
+                .register(meterRegistry);
+        this.linkEvictions = Counter.builder("routing.result.cache.evictions").tag("reason", "link")
+                .description("Cached pairs dropped because a link on their path changed")
+                .register(meterRegistry);
+        this.improvableEvictions = Counter.builder("routing.result.cache.evictions").tag("reason", "improvable")
+                .description("Cached pairs dropped because a cheaper link could shorten them")
+                .register(meterRegistry);
+        Gauge.builder("routing.result.cache.size", this, ShortestPathResultCache::size)
+                .description("Pairs currently held by the result cache")
+                .register(meterRegistry);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the cached result oriented from {@code origin} to {@code target}, or {@code null}
+     * when the pair is not cached for this graph version.
+     */
+    public ShortestPathResult get(CostGraph graph, int origin, int target) {
+        if (maxEntries <= 0) return null;
+
+        long originId = graph.nodeId(origin);
+        CachedPath cached;
+        synchronized (this) {
+            cached = version == graph.version()
+                    ? entries.get(costUtils.createOrderedCostId(originId, graph.nodeId(target))) : null;
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        long[] nodeIds = cached.nodeIds();
+        boolean reversed = cached.pair().getFromId() != originId;
+        int[] path = new int[nodeIds.length];
+        for (int i = 0; i < nodeIds.length; i++) {
+            path[i] = graph.indexOf(nodeIds[reversed ? nodeIds.length - 1 - i : i]);
+        }
+        return new ShortestPathResult(path, cached.cost(), 0);
+    }
+
+    /**
+     * Stores a result computed on {@code graph}. A non-empty cache only moves to a new version
+     * through the change listener, so results from a snapshot whose event has not arrived yet
+     * are dropped. An empty cache has nothing to invalidate and takes a newer version directly.
+     */
+    public void put(CostGraph graph, int origin, int target, ShortestPathResult result) {
+        if (maxEntries <= 0 || !result.found()) return;
+
+        CostId pair = costUtils.createOrderedCostId(graph.nodeId(origin), graph.nodeId(target));
+        int[] path = result.path();
+        boolean reversed = graph.nodeId(path[0]) != pair.getFromId();
+        long[] nodeIds = new long[path.length];
+        Set<CostId> links = new HashSet<>();
+        for (int i = 0; i < path.length; i++) {
+            nodeIds[i] = graph.nodeId(path[reversed ? path.length - 1 - i : i]);
+            if (i > 0) links.add(costUtils.createOrderedCostId(nodeIds[i - 1], nodeIds[i]));
+        }
+        CachedPath cached = new CachedPath(pair, nodeIds, result.cost(), links);
+
+        synchronized (this) {
+            if (graph.version() > version && entries.isEmpty()) version = graph.version();
+            if (graph.version() != version) return;
+            CachedPath previous = entries.put(pair, cached);
+            if (previous != null) unindex(previous);
+            for (CostId link : links) {
+                pairsByLink.computeIfAbsent(link, k -> new HashSet<>()).add(pair);
+            }
+        }
+    }
+
+    /**
+     * Applies one change in three steps so request threads never wait on a search: the bound
+     * and version are read under the lock, the two bounded searches run without it, and the
+     * evictions happen under the lock again only if no other update moved the version meanwhile.
+     * The cache keeps the old version while searching, so queries on the new snapshot miss.
+     */
+    @EventListener
+    public void onGraphChanged(CostGraphChangedEvent event) {
+        CostGraph updated = event.graph();
+        Double newCost = event.newCost();
+        boolean improving = newCost != null && (event.previousCost() == null || newCost < event.previousCost());
+        long previousVersion;
+        double maxCost;
+        synchronized (this) {
+            if (updated.version() <= version) return;
+            if (entries.isEmpty() || event.isReload() || version != updated.version() - 1) {
+                clear();
+                version = updated.version();
+                return;
+            }
+            if (!improving) {
+                evictOnLink(event);
+                version = updated.version();
+                return;
+            }
+            previousVersion = version;
+            maxCost = maxCachedCost();
+        }
+
+        int from = updated.indexOf(event.fromId());
+        int to = updated.indexOf(event.toId());
+        double budget = maxCost - newCost;
+        double[] fromDistances = budget < 0 ? null : boundedDistances(updated, from, budget);
+        double[] toDistances = budget < 0 ? null : boundedDistances(updated, to, budget);
+
+        synchronized (this) {
+            if (version != previousVersion) return;
+            evictOnLink(event);
+            evictImprovable(updated, fromDistances, toDistances, newCost, maxCost);
+            version = updated.version();
+        }
+    }
+
+    private void evictOnLink(CostGraphChangedEvent event) {
+        Set<CostId> onLink = pairsByLink.get(costUtils.createOrderedCostId(event.fromId(), event.toId()));
+        if (onLink == null) return;
+        for (CostId pair : List.copyOf(onLink)) {
+            remove(pair);
+            linkEvictions.increment();
+        }
+    }
+
+    private double maxCachedCost() {
+        double maxCost = 0.0;
+        for (CachedPath cached : entries.values()) {
+            maxCost = Math.max(maxCost, cached.cost());
+        }
+        return maxCost;
+    }
+
+    /**
+     * Entries stored while the searches ran may cost more than the bound they covered, so
+     * those are evicted without checking.
+     */
+    private void evictImprovable(CostGraph graph, double[] fromDistances, double[] toDistances, double linkCost, double maxCost) {
+        List<CostId> improvable = new ArrayList<>();
+        for (CachedPath cached : entries.values()) {
+            if (fromDistances == null) {
+                if (cached.cost() > maxCost) improvable.add(cached.pair());
+                continue;
+            }
+            int s = graph.indexOf(cached.pair().getFromId());
+            int t = graph.indexOf(cached.pair().getToId());
+            if (s < 0 || t < 0 || cached.cost() > maxCost) {
+                improvable.add(cached.pair());
+                continue;
+            }
+            double throughLink = Math.min(fromDistances[s] + linkCost + toDistances[t],
+                    toDistances[s] + linkCost + fromDistances[t]);
+            if (throughLink < cached.cost()) improvable.add(cached.pair());
+        }
+        for (CostId pair : improvable) {
+            remove(pair);
+            improvableEvictions.increment();
+        }
+    }
+
+    private double[] boundedDistances(CostGraph graph, int source, double maxCost) {
+        double[] distances = new double[graph.nodeCount()];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        dijkstraRoutingEngine.searchWithinBudget(graph, source, maxCost, (node, distance, predecessor) -> distances[node] = distance);
+        return distances;
+    }
+
+    private void remove(CostId pair) {
+        CachedPath cached = entries.remove(pair);
+        if (cached != null) unindex(cached);
+    }
+
+    private void unindex(CachedPath cached) {
+        for (CostId link : cached.links()) {
+            Set<CostId> pairs = pairsByLink.get(link);
+            if (pairs == null) continue;
+            pairs.remove(cached.pair());
+            if (pairs.isEmpty()) pairsByLink.remove(link);
+        }
+    }
+
+    private void clear() {
+        entries.clear();
+        pairsByLink.clear();
+    }
+}
@@ -0,0 +1,169 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.search.IndexedMinHeap;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Full shortest path tree of one origin. Instances are immutable; {@link #repair} returns
+ * a new tree for the next snapshot after a single edge change, Ramalingam–Reps style.
+ */
+public final class ShortestPathTree {
+
+    private final CostGraph graph;
+    private final int origin;
+    private final double[] distance;
+    private final int[] parent;
+
+    private int touched;
+
+    private ShortestPathTree(CostGraph graph, int origin, double[] distance, int[] parent) {
+        this.graph = graph;
+        this.origin = origin;
+        this.distance = distance;
+        this.parent = parent;
+    }
+
+    public static ShortestPathTree of(CostGraph graph, int origin, SearchWorkspace settled) {
+        int nodeCount = graph.nodeCount();
+        double[] distance = new double[nodeCount];
+        int[] parent = new int[nodeCount];
+        for (int node = 0; node < nodeCount; node++) {
+            distance[node] = settled.distance(node);
+            parent[node] = settled.isReached(node) ? settled.predecessor(node) : -1;
+        }
+        return new ShortestPathTree(graph, origin, distance, parent);
+    }
+
+    public CostGraph graph() {
+        return graph;
+    }
+
+    public int origin() {
+        return origin;
+    }
+
+    public double distance(int node) {
+        return distance[node];
+    }
+
+    public ShortestPathResult pathTo(int target) {
+        if (distance[target] == Double.POSITIVE_INFINITY) {
+            return ShortestPathResult.notFound(0);
+        }
+        int length = 1;
+        for (int node = target; node != origin; node = parent[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target, i = length - 1; i >= 0; node = parent[node], i--) {
+            path[i] = node;
+        }
+        return new ShortestPathResult(path, distance[target], 0);
+    }
+
+    /**
+     * Derives the tree for {@code updated}, which differs from this tree's graph only in the
+     * edge {@code from}-{@code to} (an infinite cost meaning the edge is absent). Only the
+     * subtree below a worsened tree edge, or the region an improved edge reaches, is visited.
+     */
+    public ShortestPathTree repair(CostGraph updated, int from, int to, double previousCost, double newCost, IndexedMinHeap heap) {
+        double[] repairedDistance = distance.clone();
+        int[] repairedParent = parent.clone();
+        ShortestPathTree repaired = new ShortestPathTree(updated, origin, repairedDistance, repairedParent);
+        heap.ensureCapacity(updated.nodeCount());
+        heap.clear();
+
+        if (newCost < previousCost) {
+            repaired.seedImprovement(from, to, newCost, heap);
+            repaired.seedImprovement(to, from, newCost, heap);
+            repaired.touched = repaired.propagate(heap, null);
+        } else if (newCost > previousCost) {
+            int subtreeRoot = parent[to] == from ? to : parent[from] == to ? from : -1;
+            if (subtreeRoot >= 0) {
+                BitSet affected = repaired.detachSubtree(subtreeRoot);
+                repaired.reattach(affected, heap);
+                repaired.touched = affected.cardinality();
+                repaired.propagate(heap, affected);
+            }
+        }
+        return repaired;
+    }
+
+    public int touched() {
+        return touched;
+    }
+
+    private void seedImprovement(int from, int to, double weight, IndexedMinHeap heap) {
+        double candidate = distance[from] + weight;
+        if (candidate < distance[to]) {
+            distance[to] = candidate;
+            parent[to] = from;
+            heap.insertOrDecrease(to, candidate);
+        }
+    }
+
+    private BitSet detachSubtree(int root) {
+        BitSet affected = new BitSet(graph.nodeCount());
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = root;
+        affected.set(root);
+        while (size > 0) {
+            int node = stack[--size];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int child = graph.target(edge);
+                if (parent[child] == node && !affected.get(child)) {
+                    affected.set(child);
+                    if (size == stack.length) stack = Arrays.copyOf(stack, size * 2);
+                    stack[size++] = child;
+                }
+            }
+        }
+        for (int node = affected.nextSetBit(0); node >= 0; node = affected.nextSetBit(node + 1)) {
+            distance[node] = Double.POSITIVE_INFINITY;
+            parent[node] = -1;
+        }
+        return affected;
+    }
+
+    private void reattach(BitSet affected, IndexedMinHeap heap) {
+        for (int node = affected.nextSetBit(0); node >= 0; node = affected.nextSetBit(node + 1)) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (affected.get(neighbor)) continue;
+                double candidate = distance[neighbor] + graph.weight(edge);
+                if (candidate < distance[node]) {
+                    distance[node] = candidate;
+                    parent[node] = neighbor;
+                }
+            }
+            if (distance[node] < Double.POSITIVE_INFINITY) {
+                heap.insertOrDecrease(node, distance[node]);
+            }
+        }
+    }
+
+    private int propagate(IndexedMinHeap heap, BitSet region) {
+        int settled = 0;
+        while (!heap.isEmpty()) {
+            int node = heap.pollMin();
+            settled++;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (region != null && !region.get(neighbor)) continue;
+                double candidate = distance[node] + graph.weight(edge);
+                if (candidate < distance[neighbor]) {
+                    distance[neighbor] = candidate;
+                    parent[neighbor] = node;
+                    heap.insertOrDecrease(neighbor, candidate);
+                }
+            }
+        }
+        return settled;
+    }
+}
@@ -0,0 +1,167 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.IndexedMinHeap;
+import com.sales_point_service.sales_point_service.routing.search.SearchBudget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bounded LRU of full shortest path trees for the busiest origins. An origin gets a tree
+ * on its second request; when that request runs under a limited {@link SearchBudget} the
+ * tree is built on the compute pool instead, so the full-graph search is not charged to a
+ * query that only needs one target. Single edge changes repair the cached trees in place of
+ * a rebuild, and reloads or node-set changes drop them.
+ */
+@Component
+public class ShortestPathTreeCache {
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final int maxOrigins;
+
+    private final Map<Long, ShortestPathTree> trees;
+
+    private final Map<Long, Boolean> requestedOnce;
+
+    private final Set<Long> building = new HashSet<>();
+
+    private final IndexedMinHeap repairHeap = new IndexedMinHeap();
+
+    private final ForkJoinPool buildPool;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final DistributionSummary repairedNodes;
+
+    public ShortestPathTreeCache(DijkstraRoutingEngine dijkstraRoutingEngine,
+                                 @Value("${routing.spt-cache.max-origins:32}") int maxOrigins,
+                                 MeterRegistry meterRegistry,
+                                 ForkJoinPool buildPool) {
+        this.dijkstraRoutingEngine = dijkstraRoutingEngine;
+        this.buildPool = buildPool;
+        this.maxOrigins = maxOrigins;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ShortestPathTree> eldest) {
+                return size() > maxOrigins;
+            }
+        };
+        this.requestedOnce = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxOrigins * 4;
+            }
+        };
+        this.hits = Counter.builder("routing.spt.cache").tag("result", "hit")
+                .description("Shortest path queries answered from a cached origin tree")
+                .register(meterRegistry);
+        this.misses = Counter.builder("routing.spt.cache").tag("result", "miss")
+                .description("Shortest path queries without a fresh cached origin tree")
+                .register(meterRegistry);
+        this.repairedNodes = DistributionSummary.builder("routing.spt.repair.nodes")
+                .description("Nodes visited while repairing one cached tree after an edge change")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Answers from the origin's tree, building it when the origin was already requested once.
+     * Returns {@code null} when the caller should run a regular point-to-point search.
+     */
+    public ShortestPathResult shortestPath(CostGraph graph, int origin, int target) {
+        if (maxOrigins <= 0) return null;
+
+        Long originId = graph.nodeId(origin);
+        ShortestPathTree tree;
+        boolean admitted;
+        synchronized (this) {
+            tree = trees.get(originId);
+            admitted = requestedOnce.put(originId, Boolean.TRUE) != null;
+        }
+        if (tree != null && tree.graph().version() == graph.version()) {
+            hits.increment();
+            return tree.pathTo(target);
+        }
+
+        misses.increment();
+        if (!admitted) return null;
+
+        SearchBudget budget = SearchBudget.current();
+        if (budget != null && budget.isLimited()) {
+            buildInBackground(graph, origin, originId);
+            return null;
+        }
+        return build(graph, origin, originId).pathTo(target);
+    }
+
+    private ShortestPathTree build(CostGraph graph, int origin, Long originId) {
+        ShortestPathTree tree = ShortestPathTree.of(graph, origin, dijkstraRoutingEngine.searchAll(graph, origin));
+        synchronized (this) {
+            ShortestPathTree current = trees.get(originId);
+            if (current == null || current.graph().version() < graph.version()) {
+                trees.put(originId, tree);
+            }
+        }
+        return tree;
+    }
+
+    private void buildInBackground(CostGraph graph, int origin, Long originId) {
+        synchronized (this) {
+            if (!building.add(originId)) return;
+        }
+        buildPool.execute(() -> {
+            try {
+                build(graph, origin, originId);
+            } finally {
+                synchronized (this) {
+                    building.remove(originId);
+                }
+            }
+        });
+    }
+
+    @EventListener
+    public synchronized void onGraphChanged(CostGraphChangedEvent event) {
+        if (trees.isEmpty()) return;
+        if (event.isReload()) {
+            trees.clear();
+            return;
+        }
+
+        CostGraph updated = event.graph();
+        int from = updated.indexOf(event.fromId());
+        int to = updated.indexOf(event.toId());
+        double previousCost = event.previousCost() == null ? Double.POSITIVE_INFINITY : event.previousCost();
+        double newCost = event.newCost() == null ? Double.POSITIVE_INFINITY : event.newCost();
+
+        Iterator<Map.Entry<Long, ShortestPathTree>> entries = trees.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Long, ShortestPathTree> entry = entries.next();
+            ShortestPathTree tree = entry.getValue();
+            if (tree.graph().version() >= updated.version()) continue;
+            if (tree.graph().version() != updated.version() - 1 || !updated.hasSameNodes(tree.graph())) {
+                entries.remove();
+                continue;
+            }
+            ShortestPathTree repaired = tree.repair(updated, from, to, previousCost, newCost, repairHeap);
+            repairedNodes.record(repaired.touched());
+            entry.setValue(repaired);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Orders stops over a symmetric cost matrix: a fixed number of nearest-neighbour
+ * constructions (the first greedy, the rest randomized from the seed) each improved with
+ * 2-opt and Or-opt until a local optimum or the deadline, run in parallel. Stop 0 is always
+ * first. Results only depend on the seed as long as the deadline is not reached.
+ */
+@Component
+public class TourOptimizer {
+
+    private static final double EPSILON = 1e-9;
+
+    private static final int RANDOMIZED_CHOICES = 3;
+
+    private static final int MAX_SEGMENT = 3;
+
+    private final int restarts;
+
+    private final ForkJoinPool tourPool;
+
+    public TourOptimizer(@Value("${routing.tour.restarts:8}") int restarts, ForkJoinPool tourPool) {
+        this.restarts = Math.max(1, restarts);
+        this.tourPool = tourPool;
+    }
+
+    public int[] optimize(double[][] costs, boolean closed, long seed, long deadlineNanos) {
+        int[][] tours = new int[restarts][];
+        tourPool.submit(() -> IntStream.range(0, restarts).parallel().forEach(restart -> {
+            int[] tour = construct(costs, restart == 0 ? null : new Random(seed + restart));
+            improve(costs, tour, closed, deadlineNanos);
+            tours[restart] = tour;
+        })).join();
+
+        int[] best = tours[0];
+        for (int restart = 1; restart < restarts; restart++) {
+            if (length(costs, tours[restart], closed) < length(costs, best, closed) - EPSILON) {
+                best = tours[restart];
+            }
+        }
+        return best;
+    }
+
+    public static double length(double[][] costs, int[] tour, boolean closed) {
+        double total = 0.0;
+        for (int i = 0; i + 1 < tour.length; i++) {
+            total += costs[tour[i]][tour[i + 1]];
+        }
+        return closed && tour.length > 1 ? total + costs[tour[tour.length - 1]][tour[0]] : total;
+    }
+
+    private static int[] construct(double[][] costs, Random random) {
+        int n = costs.length;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+
+        for (int position = 1; position < n; position++) {
+            int last = tour[position - 1];
+            int[] nearest = new int[RANDOMIZED_CHOICES];
+            int found = 0;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (visited[candidate]) continue;
+                int slot = Math.min(found, RANDOMIZED_CHOICES - 1);
+                if (found == RANDOMIZED_CHOICES && costs[last][candidate] >= costs[last][nearest[slot]]) continue;
+                while (slot > 0 && costs[last][nearest[slot - 1]] > costs[last][candidate]) {
+                    nearest[slot] = nearest[slot - 1];
+                    slot--;
+                }
+                nearest[slot] = candidate;
+                if (found < RANDOMIZED_CHOICES) found++;
+            }
+            int next = random == null ? nearest[0] : nearest[random.nextInt(found)];
+            tour[position] = next;
+            visited[next] = true;
+        }
+        return tour;
+    }
+
+    private static void improve(double[][] costs, int[] tour, boolean closed, long deadlineNanos) {
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadlineNanos) {
+            improved = twoOpt(costs, tour, closed) | orOpt(costs, tour, closed);
+        }
+    }
+
+    private static boolean twoOpt(double[][] costs, int[] tour, boolean closed) {
+        int n = tour.length;
+        boolean improved = false;
+        for (int i = 0; i < n - 2; i++) {
+            for (int j = i + 2; j < n; j++) {
+                if (closed && i == 0 && j == n - 1) continue;
+                int a = tour[i];
+                int b = tour[i + 1];
+                int c = tour[j];
+                int d = next(tour, j, closed);
+                double delta = costs[a][c] + cost(costs, b, d) - costs[a][b] - cost(costs, c, d);
+                if (delta < -EPSILON) {
+                    reverse(tour, i + 1, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static boolean orOpt(double[][] costs, int[] tour, boolean closed) {
+        int n = tour.length;
+        boolean improved = false;
+        for (int segment = 1; segment <= MAX_SEGMENT; segment++) {
+            for (int start = 1; start + segment <= n; start++) {
+                int end = start + segment - 1;
+                int before = tour[start - 1];
+                int first = tour[start];
+                int last = tour[end];
+                int after = next(tour, end, closed);
+                double removalGain = costs[before][first] + cost(costs, last, after) - cost(costs, before, after);
+
+                for (int position = 0; position < n; position++) {
+                    if (position >= start - 1 && position <= end) continue;
+                    int x = tour[position];
+                    int y = next(tour, position, closed);
+                    double forward = costs[x][first] + cost(costs, last, y) - cost(costs, x, y);
+                    double backward = costs[x][last] + cost(costs, first, y) - cost(costs, x, y);
+                    double insertion = Math.min(forward, backward);
+                    if (insertion - removalGain < -EPSILON) {
+                        move(tour, start, end, position, backward < forward);
+                        improved = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static int next(int[] tour, int position, boolean closed) {
+        if (position + 1 < tour.length) return tour[position + 1];
+        return closed ? tour[0] : -1;
+    }
+
+    private static double cost(double[][] costs, int from, int to) {
+        return from < 0 || to < 0 ? 0.0 : costs[from][to];
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        for (; from < to; from++, to--) {
+            int swap = tour[from];
+            tour[from] = tour[to];
+            tour[to] = swap;
+        }
+    }
+
+    private static void move(int[] tour, int start, int end, int position, boolean reversed) {
+        int length = end - start + 1;
+        int[] segment = new int[length];
+        for (int i = 0; i < length; i++) {
+            segment[i] = tour[reversed ? end - i : start + i];
+        }
+        int[] rest = new int[tour.length - length];
+        int insertAfter = -1;
+        for (int i = 0, r = 0; i < tour.length; i++) {
+            if (i >= start && i <= end) continue;
+            if (i == position) insertAfter = r;
+            rest[r++] = tour[i];
+        }
+        int t = 0;
+        for (int r = 0; r < rest.length; r++) {
+            tour[t++] = rest[r];
+            if (r == insertAfter) {
+                for (int value : segment) tour[t++] = value;
+            }
+        }
+    }
+
+}
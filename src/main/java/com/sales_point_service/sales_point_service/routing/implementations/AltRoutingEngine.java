@@ -0,0 +1,79 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkIndex;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkPreprocessor;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * A* search guided by landmark lower bounds (ALT). Falls back to plain Dijkstra while the
+ * landmark tables for the current graph version are still being built.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AltRoutingEngine implements RoutingEngine {
+
+    private final LandmarkPreprocessor landmarkPreprocessor;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final ThreadLocal<SearchWorkspace> workspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.ALT;
+    }
+
+    @Override
+    public boolean isReady(CostGraph graph) {
+        return landmarkPreprocessor.getIfFresh(graph) != null;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        LandmarkIndex index = landmarkPreprocessor.getIfFresh(graph);
+        if (index == null) {
+            log.debug(Constants.ROUTING_ENGINE_FALLBACK, algorithm(), graph.version());
+            return dijkstraRoutingEngine.shortestPath(graph, source, target);
+        }
+
+        double sourceBound = index.lowerBound(source, target);
+        if (sourceBound == Double.POSITIVE_INFINITY) {
+            return ShortestPathResult.notFound(0);
+        }
+
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1, sourceBound);
+
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            if (node == target) {
+                return new ShortestPathResult(workspace.pathTo(target), workspace.distance(target), workspace.settledCount());
+            }
+
+            double base = workspace.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (workspace.isSettled(neighbor)) continue;
+
+                double candidate = base + graph.weight(edge);
+                if (candidate >= workspace.distance(neighbor)) continue;
+
+                double bound = index.lowerBound(neighbor, target);
+                if (bound != Double.POSITIVE_INFINITY) {
+                    workspace.relax(neighbor, candidate, node, candidate + bound);
+                }
+            }
+        }
+        return ShortestPathResult.notFound(workspace.settledCount());
+    }
+}
@@ -0,0 +1,89 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import org.springframework.stereotype.Component;
+
+/**
+ * Point-to-point Dijkstra run from both ends at once. Costs are symmetric, so the
+ * backward search walks the same adjacency; it stops once the two queue minima
+ * together can no longer beat the best meeting point found so far.
+ */
+@Component
+public class BidirectionalDijkstraRoutingEngine implements RoutingEngine {
+
+    private final ThreadLocal<SearchWorkspace> forwardWorkspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+    private final ThreadLocal<SearchWorkspace> backwardWorkspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        if (source == target) {
+            return new ShortestPathResult(new int[]{source}, 0.0, 0);
+        }
+
+        SearchWorkspace forward = forwardWorkspaces.get();
+        SearchWorkspace backward = backwardWorkspaces.get();
+        forward.reset(graph.nodeCount());
+        backward.reset(graph.nodeCount());
+        forward.relax(source, 0.0, -1);
+        backward.relax(target, 0.0, -1);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        while (!forward.heap().isEmpty() && !backward.heap().isEmpty()) {
+            double forwardMin = forward.heap().minKey();
+            double backwardMin = backward.heap().minKey();
+            if (forwardMin + backwardMin >= best) break;
+
+            SearchWorkspace current = forwardMin <= backwardMin ? forward : backward;
+            SearchWorkspace opposite = current == forward ? backward : forward;
+
+            int node = current.settleNext();
+            double base = current.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (current.isSettled(neighbor)) continue;
+
+                current.relax(neighbor, base + graph.weight(edge), node);
+                if (opposite.isReached(neighbor)) {
+                    double candidate = current.distance(neighbor) + opposite.distance(neighbor);
+                    if (candidate < best) {
+                        best = candidate;
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+
+        int settled = forward.settledCount() + backward.settledCount();
+        if (meeting < 0) {
+            return ShortestPathResult.notFound(settled);
+        }
+        return new ShortestPathResult(joinPaths(forward, backward, meeting), best, settled);
+    }
+
+    private int[] joinPaths(SearchWorkspace forward, SearchWorkspace backward, int meeting) {
+        int[] head = forward.pathTo(meeting);
+        int tail = 0;
+        for (int at = backward.predecessor(meeting); at >= 0; at = backward.predecessor(at)) {
+            tail++;
+        }
+
+        int[] path = new int[head.length + tail];
+        System.arraycopy(head, 0, path, 0, head.length);
+        int position = head.length;
+        for (int at = backward.predecessor(meeting); at >= 0; at = backward.predecessor(at)) {
+            path[position++] = at;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,247 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchBudget;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Dial's algorithm over weights scaled to integers. Tentative distances live in a circular
+ * array of {@code maxWeight + 1} buckets, so extraction is monotone and needs no comparisons.
+ * Graphs whose weights are not whole multiples of {@code 1 / scale}, or would need too many
+ * buckets, are routed with the binary-heap Dijkstra instead. The reported cost is summed
+ * over the original weights along the path, exactly as Dijkstra accumulates it. Buckets are
+ * stamped with the query generation like the node arrays, so a query never clears them.
+ */
+@Component
+@Slf4j
+public class BucketQueueRoutingEngine implements RoutingEngine {
+
+    private static final double SCALE_TOLERANCE = 1e-9;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final long scale;
+
+    private final int maxBuckets;
+
+    private volatile ScaledWeights cached;
+
+    private final ThreadLocal<BucketWorkspace> workspaces = ThreadLocal.withInitial(BucketWorkspace::new);
+
+    record ScaledWeights(CostGraph graph, int[] weights, int maxWeight) {
+    }
+
+    public BucketQueueRoutingEngine(DijkstraRoutingEngine dijkstraRoutingEngine,
+                                    @Value("${routing.bucket-queue.scale:100}") long scale,
+                                    @Value("${routing.bucket-queue.max-buckets:65536}") int maxBuckets) {
+        this.dijkstraRoutingEngine = dijkstraRoutingEngine;
+        this.scale = scale;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.BUCKET_QUEUE;
+    }
+
+    @Override
+    public boolean isReady(CostGraph graph) {
+        return scaledWeights(graph) != null;
+    }
+
+    @Override
+    public boolean isUnavailable(CostGraph graph) {
+        return scaledWeights(graph) == null;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        ScaledWeights scaled = scaledWeights(graph);
+        if (scaled == null) {
+            return dijkstraRoutingEngine.shortestPath(graph, source, target);
+        }
+
+        BucketWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount(), scaled.maxWeight() + 1);
+        workspace.relax(source, 0L, -1, -1);
+
+        SearchBudget budget = SearchBudget.current();
+        int settled = 0;
+        while (!workspace.isEmpty()) {
+            int node = workspace.settleNext();
+            if (++settled % SearchBudget.CHECK_INTERVAL == 0 && budget != null) {
+                budget.charge(SearchBudget.CHECK_INTERVAL);
+            }
+            if (node == target) {
+                int[] path = workspace.pathTo(target);
+                return new ShortestPathResult(path, pathCost(graph, workspace, path), settled);
+            }
+
+            long base = workspace.distance[node];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + scaled.weights()[edge], node, edge);
+                }
+            }
+        }
+        return ShortestPathResult.notFound(settled);
+    }
+
+    ScaledWeights scaledWeights(CostGraph graph) {
+        ScaledWeights current = cached;
+        if (current != null && current.graph() == graph) {
+            return current.weights() == null ? null : current;
+        }
+
+        int[] weights = new int[graph.edgeCount()];
+        int maxWeight = 0;
+        for (int edge = 0; edge < weights.length; edge++) {
+            double exact = graph.weight(edge) * scale;
+            long rounded = Math.round(exact);
+            if (Math.abs(exact - rounded) > SCALE_TOLERANCE * Math.max(1.0, exact) || rounded >= maxBuckets) {
+                log.debug(Constants.BUCKET_QUEUE_WEIGHTS_NOT_REPRESENTABLE, graph.version(), scale, maxBuckets);
+                weights = null;
+                break;
+            }
+            weights[edge] = (int) rounded;
+            maxWeight = Math.max(maxWeight, weights[edge]);
+        }
+
+        ScaledWeights computed = new ScaledWeights(graph, weights, maxWeight);
+        cached = computed;
+        return weights == null ? null : computed;
+    }
+
+    private static double pathCost(CostGraph graph, BucketWorkspace workspace, int[] path) {
+        double cost = 0.0;
+        for (int i = 1; i < path.length; i++) {
+            cost += graph.weight(workspace.predecessorEdge[path[i]]);
+        }
+        return cost;
+    }
+
+    private static final class BucketWorkspace {
+
+        private long[] distance = new long[0];
+        private int[] predecessorEdge = new int[0];
+        private int[] predecessor = new int[0];
+        private int[] next = new int[0];
+        private int[] previous = new int[0];
+        private int[] reachedStamp = new int[0];
+        private int[] settledStamp = new int[0];
+        private int[] heads = new int[0];
+        private int[] tails = new int[0];
+        private int[] bucketStamp = new int[0];
+        private int generation;
+        private int bucketCount;
+        private int queued;
+        private long cursor;
+
+        private void reset(int nodeCount, int buckets) {
+            if (distance.length < nodeCount) {
+                int capacity = Math.max(nodeCount, distance.length + (distance.length >> 1));
+                distance = new long[capacity];
+                predecessorEdge = new int[capacity];
+                predecessor = new int[capacity];
+                next = new int[capacity];
+                previous = new int[capacity];
+                reachedStamp = new int[capacity];
+                settledStamp = new int[capacity];
+                Arrays.fill(bucketStamp, 0);
+                generation = 0;
+            }
+            if (heads.length < buckets) {
+                heads = new int[buckets];
+                tails = new int[buckets];
+                bucketStamp = new int[buckets];
+            }
+
+            if (++generation == Integer.MAX_VALUE) {
+                Arrays.fill(reachedStamp, 0);
+                Arrays.fill(settledStamp, 0);
+                Arrays.fill(bucketStamp, 0);
+                generation = 1;
+            }
+            bucketCount = buckets;
+            queued = 0;
+            cursor = 0L;
+        }
+
+        private boolean isEmpty() {
+            return queued == 0;
+        }
+
+        private boolean isSettled(int node) {
+            return settledStamp[node] == generation;
+        }
+
+        private void relax(int node, long candidate, int from, int viaEdge) {
+            if (reachedStamp[node] == generation) {
+                if (candidate >= distance[node]) return;
+                unlink(node);
+            }
+            reachedStamp[node] = generation;
+            distance[node] = candidate;
+            predecessorEdge[node] = viaEdge;
+            predecessor[node] = from;
+            append(node);
+        }
+
+        private int settleNext() {
+            int bucket = (int) (cursor % bucketCount);
+            while (bucketStamp[bucket] != generation || heads[bucket] < 0) {
+                cursor++;
+                bucket = (int) (cursor % bucketCount);
+            }
+            int node = heads[bucket];
+            unlink(node);
+            settledStamp[node] = generation;
+            return node;
+        }
+
+        private void append(int node) {
+            int bucket = (int) (distance[node] % bucketCount);
+            if (bucketStamp[bucket] != generation) {
+                bucketStamp[bucket] = generation;
+                heads[bucket] = -1;
+                tails[bucket] = -1;
+            }
+            next[node] = -1;
+            previous[node] = tails[bucket];
+            if (tails[bucket] >= 0) next[tails[bucket]] = node;
+            else heads[bucket] = node;
+            tails[bucket] = node;
+            queued++;
+        }
+
+        private void unlink(int node) {
+            int bucket = (int) (distance[node] % bucketCount);
+            if (previous[node] >= 0) next[previous[node]] = next[node];
+            else heads[bucket] = next[node];
+            if (next[node] >= 0) previous[next[node]] = previous[node];
+            else tails[bucket] = previous[node];
+            queued--;
+        }
+
+        private int[] pathTo(int target) {
+            int hops = 0;
+            for (int at = target; at >= 0; at = predecessor[at]) {
+                hops++;
+            }
+            int[] path = new int[hops];
+            for (int at = target; at >= 0; at = predecessor[at]) {
+                path[--hops] = at;
+            }
+            return path;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.ContractionHierarchy;
+import com.sales_point_service.sales_point_service.routing.preprocessing.ContractionHierarchyPreprocessor;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContractionHierarchyRoutingEngine implements RoutingEngine {
+
+    private final ContractionHierarchyPreprocessor contractionHierarchyPreprocessor;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final ThreadLocal<SearchWorkspace> forwardWorkspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+    private final ThreadLocal<SearchWorkspace> backwardWorkspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.CONTRACTION_HIERARCHIES;
+    }
+
+    @Override
+    public boolean isReady(CostGraph graph) {
+        return contractionHierarchyPreprocessor.getIfFresh(graph) != null;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        ContractionHierarchy hierarchy = contractionHierarchyPreprocessor.getIfFresh(graph);
+        if (hierarchy == null) {
+            log.debug(Constants.ROUTING_ENGINE_FALLBACK, algorithm(), graph.version());
+            return dijkstraRoutingEngine.shortestPath(graph, source, target);
+        }
+        return hierarchy.query(source, target, forwardWorkspaces.get(), backwardWorkspaces.get());
+    }
+}
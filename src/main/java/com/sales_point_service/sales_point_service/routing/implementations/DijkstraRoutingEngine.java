@@ -0,0 +1,225 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.interfaces.SettledNodeVisitor;
+import com.sales_point_service.sales_point_service.routing.search.CostOverlay;
+import com.sales_point_service.sales_point_service.routing.search.SearchMask;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Map;
+
+@Component
+public class DijkstraRoutingEngine implements RoutingEngine {
+
+    private final ThreadLocal<SearchWorkspace> workspaces = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.DIJKSTRA;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1);
+
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            if (node == target) {
+                return new ShortestPathResult(workspace.pathTo(target), workspace.distance(target), workspace.settledCount());
+            }
+
+            double base = workspace.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+        return ShortestPathResult.notFound(workspace.settledCount());
+    }
+
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target, SearchMask mask) {
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        if (mask.isNodeBlocked(source)) {
+            return ShortestPathResult.notFound(0);
+        }
+        workspace.relax(source, 0.0, -1);
+
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            if (node == target) {
+                return new ShortestPathResult(workspace.pathTo(target), workspace.distance(target), workspace.settledCount());
+            }
+
+            double base = workspace.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor) && !mask.isEdgeBlocked(edge) && !mask.isNodeBlocked(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+        return ShortestPathResult.notFound(workspace.settledCount());
+    }
+
+    /**
+     * Searches the overlay's snapshot with its overridden, removed and added links applied
+     * while relaxing.
+     */
+    public ShortestPathResult shortestPath(CostOverlay overlay, int source, int target) {
+        CostGraph graph = overlay.graph();
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1);
+
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            if (node == target) {
+                return new ShortestPathResult(workspace.pathTo(target), workspace.distance(target), workspace.settledCount());
+            }
+
+            double base = workspace.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                double weight = overlay.weight(edge);
+                if (!Double.isNaN(weight) && !workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + weight, node);
+                }
+            }
+            for (Map.Entry<Integer, Double> added : overlay.addedArcs(node).entrySet()) {
+                if (!workspace.isSettled(added.getKey())) {
+                    workspace.relax(added.getKey(), base + added.getValue(), node);
+                }
+            }
+        }
+        return ShortestPathResult.notFound(workspace.settledCount());
+    }
+
+    /**
+     * Settles every node reachable from {@code source}. The returned workspace belongs to the
+     * calling thread and is valid until its next search.
+     */
+    public SearchWorkspace searchAll(CostGraph graph, int source) {
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1);
+
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            double base = workspace.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+        return workspace;
+    }
+
+    public double[] distancesFrom(CostGraph graph, int source) {
+        SearchWorkspace workspace = searchAll(graph, source);
+        double[] distances = new double[graph.nodeCount()];
+        for (int node = 0; node < distances.length; node++) {
+            distances[node] = workspace.distance(node);
+        }
+        return distances;
+    }
+
+    /**
+     * Settles nodes from {@code source} until all {@code targetCount} marked targets are settled.
+     * The returned workspace belongs to the calling thread and is valid until its next search.
+     */
+    public SearchWorkspace searchToTargets(CostGraph graph, int source, BitSet targets, int targetCount) {
+        return searchToTargets(graph, source, targets, targetCount, (node, distance, predecessor) -> {
+        });
+    }
+
+    /**
+     * Same as {@link #searchToTargets(CostGraph, int, BitSet, int)}, reporting each target
+     * to {@code visitor} as it is settled.
+     */
+    public SearchWorkspace searchToTargets(CostGraph graph, int source, BitSet targets, int targetCount, SettledNodeVisitor visitor) {
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1);
+
+        int remaining = targetCount;
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            if (targets.get(node)) {
+                visitor.visit(node, workspace.distance(node), workspace.predecessor(node));
+                if (--remaining == 0) break;
+            }
+
+            double base = workspace.distance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+        return workspace;
+    }
+
+    /**
+     * Reports every node within {@code maxCost} of {@code source} in settle order, never
+     * pushing a node whose tentative cost already exceeds the budget.
+     */
+    public void searchWithinBudget(CostGraph graph, int source, double maxCost, SettledNodeVisitor visitor) {
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1);
+
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            double base = workspace.distance(node);
+            visitor.visit(node, base, workspace.predecessor(node));
+
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                double candidate = base + graph.weight(edge);
+                if (candidate <= maxCost && !workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, candidate, node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the {@code k} nodes closest to {@code source}, excluding the source itself,
+     * in increasing cost order and stops as soon as the k-th one is settled.
+     */
+    public void searchNearest(CostGraph graph, int source, int k, SettledNodeVisitor visitor) {
+        SearchWorkspace workspace = workspaces.get();
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1);
+
+        int found = 0;
+        while (!workspace.heap().isEmpty() && found < k) {
+            int node = workspace.settleNext();
+            double base = workspace.distance(node);
+            if (node != source) {
+                visitor.visit(node, base, workspace.predecessor(node));
+                if (++found == k) return;
+            }
+
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.DistanceMatrix;
+import com.sales_point_service.sales_point_service.routing.preprocessing.DistanceMatrixPreprocessor;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DistanceMatrixRoutingEngine implements RoutingEngine {
+
+    private final DistanceMatrixPreprocessor distanceMatrixPreprocessor;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.DISTANCE_MATRIX;
+    }
+
+    @Override
+    public boolean isReady(CostGraph graph) {
+        return distanceMatrixPreprocessor.getIfFresh(graph) != null;
+    }
+
+    @Override
+    public boolean isUnavailable(CostGraph graph) {
+        return distanceMatrixPreprocessor.isFresh(graph) && distanceMatrixPreprocessor.getIfFresh(graph) == null;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        DistanceMatrix matrix = distanceMatrixPreprocessor.getIfFresh(graph);
+        if (matrix == null) {
+            log.debug(Constants.ROUTING_ENGINE_FALLBACK, algorithm(), graph.version());
+            return dijkstraRoutingEngine.shortestPath(graph, source, target);
+        }
+        return matrix.query(source, target);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.OverlayGraph;
+import com.sales_point_service.sales_point_service.routing.preprocessing.OverlayPreprocessor;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverlayRoutingEngine implements RoutingEngine {
+
+    private final OverlayPreprocessor overlayPreprocessor;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final ThreadLocal<OverlayGraph.OverlayWorkspace> queryWorkspaces = ThreadLocal.withInitial(OverlayGraph.OverlayWorkspace::new);
+    private final ThreadLocal<OverlayGraph.OverlayWorkspace> unpackWorkspaces = ThreadLocal.withInitial(OverlayGraph.OverlayWorkspace::new);
+
+    @Override
+    public RoutingAlgorithm algorithm() {
+        return RoutingAlgorithm.CUSTOMIZABLE_OVERLAY;
+    }
+
+    @Override
+    public boolean isReady(CostGraph graph) {
+        return overlayPreprocessor.getIfFresh(graph) != null;
+    }
+
+    @Override
+    public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+        OverlayGraph overlay = overlayPreprocessor.getIfFresh(graph);
+        if (overlay == null) {
+            log.debug(Constants.ROUTING_ENGINE_FALLBACK, algorithm(), graph.version());
+            return dijkstraRoutingEngine.shortestPath(graph, source, target);
+        }
+        return overlay.query(source, target, queryWorkspaces.get(), unpackWorkspaces.get());
+    }
+}
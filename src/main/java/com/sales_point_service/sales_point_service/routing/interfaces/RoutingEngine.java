@@ -0,0 +1,27 @@
+package com.sales_point_service.sales_point_service.routing.interfaces;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
+public interface RoutingEngine {
+    RoutingAlgorithm algorithm();
+
+    ShortestPathResult shortestPath(CostGraph graph, int source, int target);
+
+    /**
+     * Whether the engine can answer for {@code graph} without falling back to Dijkstra.
+     * Engines backed by a preprocessed index schedule a rebuild when it is stale.
+     */
+    default boolean isReady(CostGraph graph) {
+        return true;
+    }
+
+    /**
+     * Whether the engine will never become ready for {@code graph}, so callers waiting on
+     * {@link #isReady} can stop.
+     */
+    default boolean isUnavailable(CostGraph graph) {
+        return false;
+    }
+}
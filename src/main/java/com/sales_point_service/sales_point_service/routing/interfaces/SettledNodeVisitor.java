@@ -0,0 +1,6 @@
+package com.sales_point_service.sales_point_service.routing.interfaces;
+
+@FunctionalInterface
+public interface SettledNodeVisitor {
+    void visit(int node, double distance, int predecessor);
+}
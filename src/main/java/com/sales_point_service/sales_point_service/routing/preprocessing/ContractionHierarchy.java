@@ -0,0 +1,324 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.search.IndexedMinHeap;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+
+import java.util.Arrays;
+
+/**
+ * Contraction hierarchy over the symmetric cost graph. Nodes are contracted in
+ * edge-difference order; each node keeps only its arcs towards higher-ranked nodes.
+ * Because costs are symmetric the downward graph is the transpose of this upward graph,
+ * so both query directions search it, with stall-on-demand. Shortcut arcs remember the
+ * contracted middle node for unpacking.
+ */
+public final class ContractionHierarchy {
+
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final int[] rank;
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final double[] upWeights;
+    private final int[] upMiddles;
+    private final int shortcutCount;
+
+    private ContractionHierarchy(int[] rank, int[] upOffsets, int[] upTargets, double[] upWeights, int[] upMiddles, int shortcutCount) {
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.shortcutCount = shortcutCount;
+    }
+
+    public int shortcutCount() {
+        return shortcutCount;
+    }
+
+    public int rank(int node) {
+        return rank[node];
+    }
+
+    public static ContractionHierarchy build(CostGraph graph) {
+        return new Builder(graph).contract();
+    }
+
+    public ShortestPathResult query(int source, int target, SearchWorkspace forward, SearchWorkspace backward) {
+        if (source == target) {
+            return new ShortestPathResult(new int[]{source}, 0.0, 0);
+        }
+
+        int nodeCount = rank.length;
+        forward.reset(nodeCount);
+        backward.reset(nodeCount);
+        forward.relax(source, 0.0, -1);
+        backward.relax(target, 0.0, -1);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+
+        while (true) {
+            boolean forwardActive = forward.heap().minKey() < best;
+            boolean backwardActive = backward.heap().minKey() < best;
+            if (!forwardActive && !backwardActive) break;
+
+            SearchWorkspace current = forwardActive && (!backwardActive || forward.heap().minKey() <= backward.heap().minKey())
+                    ? forward : backward;
+            SearchWorkspace opposite = current == forward ? backward : forward;
+
+            int node = current.settleNext();
+            double base = current.distance(node);
+            if (opposite.isReached(node) && base + opposite.distance(node) < best) {
+                best = base + opposite.distance(node);
+                meeting = node;
+            }
+            if (isStalled(current, node, base)) continue;
+
+            for (int arc = upOffsets[node]; arc < upOffsets[node + 1]; arc++) {
+                int neighbor = upTargets[arc];
+                if (!current.isSettled(neighbor)) {
+                    current.relax(neighbor, base + upWeights[arc], node);
+                }
+            }
+        }
+
+        int settled = forward.settledCount() + backward.settledCount();
+        if (meeting < 0) {
+            return ShortestPathResult.notFound(settled);
+        }
+
+        int[] upward = forward.pathTo(meeting);
+        int downwardLength = 0;
+        for (int at = backward.predecessor(meeting); at >= 0; at = backward.predecessor(at)) {
+            downwardLength++;
+        }
+        int[] hierarchyPath = Arrays.copyOf(upward, upward.length + downwardLength);
+        int position = upward.length;
+        for (int at = backward.predecessor(meeting); at >= 0; at = backward.predecessor(at)) {
+            hierarchyPath[position++] = at;
+        }
+        return new ShortestPathResult(unpack(hierarchyPath), best, settled);
+    }
+
+    private boolean isStalled(SearchWorkspace search, int node, double distance) {
+        for (int arc = upOffsets[node]; arc < upOffsets[node + 1]; arc++) {
+            if (search.distance(upTargets[arc]) + upWeights[arc] < distance) return true;
+        }
+        return false;
+    }
+
+    private int[] unpack(int[] hierarchyPath) {
+        int[] path = new int[Math.max(16, hierarchyPath.length * 2)];
+        int length = 0;
+        path[length++] = hierarchyPath[0];
+
+        int[] stack = new int[32];
+        for (int i = 1; i < hierarchyPath.length; i++) {
+            int top = 0;
+            stack[top++] = hierarchyPath[i];
+            int from = hierarchyPath[i - 1];
+            while (top > 0) {
+                int to = stack[top - 1];
+                int middle = upMiddles[arcBetween(from, to)];
+                if (middle < 0) {
+                    if (length == path.length) path = Arrays.copyOf(path, length * 2);
+                    path[length++] = to;
+                    from = to;
+                    top--;
+                } else {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = middle;
+                }
+            }
+        }
+        return Arrays.copyOf(path, length);
+    }
+
+    private int arcBetween(int a, int b) {
+        int low = rank[a] < rank[b] ? a : b;
+        int high = low == a ? b : a;
+        for (int arc = upOffsets[low]; arc < upOffsets[low + 1]; arc++) {
+            if (upTargets[arc] == high) return arc;
+        }
+        throw new IllegalStateException("Missing hierarchy arc " + a + " -> " + b);
+    }
+
+    private static final class Builder {
+
+        private final int nodeCount;
+        private final int[][] neighbors;
+        private final double[][] weights;
+        private final int[][] middles;
+        private final int[] degree;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final SearchWorkspace witness = new SearchWorkspace();
+        private int shortcuts;
+
+        Builder(CostGraph graph) {
+            nodeCount = graph.nodeCount();
+            neighbors = new int[nodeCount][];
+            weights = new double[nodeCount][];
+            middles = new int[nodeCount][];
+            degree = new int[nodeCount];
+            contracted = new boolean[nodeCount];
+            contractedNeighbors = new int[nodeCount];
+
+            for (int node = 0; node < nodeCount; node++) {
+                int capacity = Math.max(2, graph.degree(node));
+                neighbors[node] = new int[capacity];
+                weights[node] = new double[capacity];
+                middles[node] = new int[capacity];
+            }
+            for (int node = 0; node < nodeCount; node++) {
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int target = graph.target(edge);
+                    if (target != node) {
+                        putArc(node, target, graph.weight(edge), -1);
+                    }
+                }
+            }
+        }
+
+        ContractionHierarchy contract() {
+            IndexedMinHeap order = new IndexedMinHeap();
+            order.ensureCapacity(nodeCount);
+            for (int node = 0; node < nodeCount; node++) {
+                order.insertOrDecrease(node, priority(node));
+            }
+
+            int[] rank = new int[nodeCount];
+            int[][] upNeighbors = new int[nodeCount][];
+            double[][] upWeights = new double[nodeCount][];
+            int[][] upMiddles = new int[nodeCount][];
+            int nextRank = 0;
+
+            while (!order.isEmpty()) {
+                int node = order.pollMin();
+                double updated = priority(node);
+                if (!order.isEmpty() && updated > order.minKey()) {
+                    order.insertOrDecrease(node, updated);
+                    continue;
+                }
+
+                rank[node] = nextRank++;
+                int live = compactLiveArcs(node);
+                upNeighbors[node] = Arrays.copyOf(neighbors[node], live);
+                upWeights[node] = Arrays.copyOf(weights[node], live);
+                upMiddles[node] = Arrays.copyOf(middles[node], live);
+
+                contractNode(node, true);
+                contracted[node] = true;
+                for (int i = 0; i < live; i++) {
+                    int neighbor = neighbors[node][i];
+                    contractedNeighbors[neighbor]++;
+                    if (order.contains(neighbor)) {
+                        order.update(neighbor, priority(neighbor));
+                    }
+                }
+            }
+
+            int[] offsets = new int[nodeCount + 1];
+            for (int node = 0; node < nodeCount; node++) {
+                offsets[node + 1] = offsets[node] + upNeighbors[node].length;
+            }
+            int[] targets = new int[offsets[nodeCount]];
+            double[] arcWeights = new double[offsets[nodeCount]];
+            int[] arcMiddles = new int[offsets[nodeCount]];
+            for (int node = 0; node < nodeCount; node++) {
+                System.arraycopy(upNeighbors[node], 0, targets, offsets[node], upNeighbors[node].length);
+                System.arraycopy(upWeights[node], 0, arcWeights, offsets[node], upWeights[node].length);
+                System.arraycopy(upMiddles[node], 0, arcMiddles, offsets[node], upMiddles[node].length);
+            }
+            return new ContractionHierarchy(rank, offsets, targets, arcWeights, arcMiddles, shortcuts);
+        }
+
+        private double priority(int node) {
+            int live = compactLiveArcs(node);
+            return contractNode(node, false) - live + contractedNeighbors[node];
+        }
+
+        private int compactLiveArcs(int node) {
+            int live = 0;
+            for (int i = 0; i < degree[node]; i++) {
+                if (contracted[neighbors[node][i]]) continue;
+                neighbors[node][live] = neighbors[node][i];
+                weights[node][live] = weights[node][i];
+                middles[node][live] = middles[node][i];
+                live++;
+            }
+            degree[node] = live;
+            return live;
+        }
+
+        private int contractNode(int node, boolean apply) {
+            int live = degree[node];
+            int added = 0;
+            for (int i = 0; i < live; i++) {
+                int from = neighbors[node][i];
+                double toNode = weights[node][i];
+
+                if (i == live - 1) continue;
+                double limit = Double.NEGATIVE_INFINITY;
+                for (int j = i + 1; j < live; j++) {
+                    limit = Math.max(limit, toNode + weights[node][j]);
+                }
+                witnessSearch(from, node, limit);
+
+                for (int j = i + 1; j < live; j++) {
+                    int to = neighbors[node][j];
+                    double viaNode = toNode + weights[node][j];
+                    if (witness.distance(to) <= viaNode) continue;
+
+                    added++;
+                    if (apply) {
+                        putArc(from, to, viaNode, node);
+                        putArc(to, from, viaNode, node);
+                    }
+                }
+            }
+            if (apply) shortcuts += added;
+            return added;
+        }
+
+        private void witnessSearch(int source, int excluded, double limit) {
+            witness.reset(nodeCount);
+            witness.relax(source, 0.0, -1);
+            while (!witness.heap().isEmpty() && witness.settledCount() < WITNESS_SETTLE_LIMIT) {
+                if (witness.heap().minKey() > limit) break;
+                int node = witness.settleNext();
+                double base = witness.distance(node);
+                for (int i = 0; i < degree[node]; i++) {
+                    int neighbor = neighbors[node][i];
+                    if (neighbor == excluded || contracted[neighbor] || witness.isSettled(neighbor)) continue;
+                    witness.relax(neighbor, base + weights[node][i], node);
+                }
+            }
+        }
+
+        private void putArc(int from, int to, double weight, int middle) {
+            for (int i = 0; i < degree[from]; i++) {
+                if (neighbors[from][i] == to) {
+                    if (weight < weights[from][i]) {
+                        weights[from][i] = weight;
+                        middles[from][i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (degree[from] == neighbors[from].length) {
+                int capacity = neighbors[from].length * 2;
+                neighbors[from] = Arrays.copyOf(neighbors[from], capacity);
+                weights[from] = Arrays.copyOf(weights[from], capacity);
+                middles[from] = Arrays.copyOf(middles[from], capacity);
+            }
+            neighbors[from][degree[from]] = to;
+            weights[from][degree[from]] = weight;
+            middles[from][degree[from]] = middle;
+            degree[from]++;
+        }
+    }
+}
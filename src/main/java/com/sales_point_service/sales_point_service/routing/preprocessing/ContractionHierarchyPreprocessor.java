@@ -0,0 +1,78 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ContractionHierarchyPreprocessor extends GraphPreprocessor<ContractionHierarchy> {
+
+    private static final int SPEEDUP_SAMPLE_QUERIES = 32;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final Timer preprocessingTimer;
+
+    private volatile double querySpeedup;
+
+    private volatile int shortcutCount;
+
+    public ContractionHierarchyPreprocessor(DijkstraRoutingEngine dijkstraRoutingEngine,
+                                            MeterRegistry meterRegistry,
+                                            @Value("${routing.algorithm:AUTO}") RoutingAlgorithm routingAlgorithm) {
+        super("ch-preprocessing", routingAlgorithm.canSelect(RoutingAlgorithm.CONTRACTION_HIERARCHIES));
+        this.dijkstraRoutingEngine = dijkstraRoutingEngine;
+        this.preprocessingTimer = Timer.builder("routing.ch.preprocessing")
+                .description("Time spent contracting the cost graph")
+                .register(meterRegistry);
+        Gauge.builder("routing.ch.query.speedup", this, preprocessor -> preprocessor.querySpeedup)
+                .description("Mean Dijkstra query time divided by mean CH query time on sampled pairs")
+                .register(meterRegistry);
+        Gauge.builder("routing.ch.shortcuts", this, preprocessor -> preprocessor.shortcutCount)
+                .description("Shortcut arcs added by the last contraction")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected ContractionHierarchy build(CostGraph graph) {
+        long start = System.nanoTime();
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        preprocessingTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        shortcutCount = hierarchy.shortcutCount();
+        querySpeedup = measureSpeedup(graph, hierarchy);
+        return hierarchy;
+    }
+
+    private double measureSpeedup(CostGraph graph, ContractionHierarchy hierarchy) {
+        if (graph.nodeCount() < 2) return 0.0;
+
+        Random random = new Random(graph.version());
+        SearchWorkspace forward = new SearchWorkspace();
+        SearchWorkspace backward = new SearchWorkspace();
+        long dijkstraNanos = 0;
+        long hierarchyNanos = 0;
+        for (int i = 0; i < SPEEDUP_SAMPLE_QUERIES; i++) {
+            int source = random.nextInt(graph.nodeCount());
+            int target = random.nextInt(graph.nodeCount());
+
+            long start = System.nanoTime();
+            dijkstraRoutingEngine.shortestPath(graph, source, target);
+            dijkstraNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            hierarchy.query(source, target, forward, backward);
+            hierarchyNanos += System.nanoTime() - start;
+        }
+        return hierarchyNanos == 0 ? 0.0 : (double) dijkstraNanos / hierarchyNanos;
+    }
+}
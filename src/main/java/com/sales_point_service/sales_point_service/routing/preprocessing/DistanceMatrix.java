@@ -0,0 +1,136 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * All-pairs shortest distances with a predecessor table, stored row by row. Paths are rebuilt
+ * inside the source row only, so every path comes from a single shortest path tree even when
+ * zero-cost ties let different rows pick different trees. Rows are never mutated after
+ * publication, so an incremental update shares every row it does not recompute.
+ */
+public final class DistanceMatrix {
+
+    private static final ThreadLocal<SearchWorkspace> WORKSPACES = ThreadLocal.withInitial(SearchWorkspace::new);
+
+    private final CostGraph graph;
+    private final double[][] distances;
+    private final int[][] predecessors;
+    private final int recomputedRows;
+
+    private DistanceMatrix(CostGraph graph, double[][] distances, int[][] predecessors, int recomputedRows) {
+        this.graph = graph;
+        this.distances = distances;
+        this.predecessors = predecessors;
+        this.recomputedRows = recomputedRows;
+    }
+
+    public static DistanceMatrix build(CostGraph graph, ForkJoinPool pool) {
+        int nodeCount = graph.nodeCount();
+        double[][] distances = new double[nodeCount][];
+        int[][] predecessors = new int[nodeCount][];
+        computeRows(graph, IntStream.range(0, nodeCount).toArray(), distances, predecessors, pool);
+        return new DistanceMatrix(graph, distances, predecessors, nodeCount);
+    }
+
+    /**
+     * Applies a single edge change. An increase or removal can only affect rows whose
+     * shortest path tree uses the edge, and a decrease or addition only rows it improves.
+     */
+    public DistanceMatrix update(CostGraphChangedEvent change, ForkJoinPool pool) {
+        CostGraph updated = change.graph();
+        int from = updated.indexOf(change.fromId());
+        int to = updated.indexOf(change.toId());
+        double previousCost = change.previousCost() == null ? Double.POSITIVE_INFINITY : change.previousCost();
+        double newCost = change.newCost() == null ? Double.POSITIVE_INFINITY : change.newCost();
+
+        int[] affected;
+        if (newCost < previousCost) {
+            affected = IntStream.range(0, distances.length)
+                    .filter(row -> distances[row][from] + newCost < distances[row][to]
+                            || distances[row][to] + newCost < distances[row][from])
+                    .toArray();
+        } else if (newCost > previousCost) {
+            affected = IntStream.range(0, distances.length)
+                    .filter(row -> distances[row][from] + previousCost == distances[row][to]
+                            || distances[row][to] + previousCost == distances[row][from])
+                    .toArray();
+        } else {
+            affected = new int[0];
+        }
+
+        double[][] updatedDistances = distances.clone();
+        int[][] updatedPredecessors = predecessors.clone();
+        computeRows(updated, affected, updatedDistances, updatedPredecessors, pool);
+        return new DistanceMatrix(updated, updatedDistances, updatedPredecessors, affected.length);
+    }
+
+    public CostGraph graph() {
+        return graph;
+    }
+
+    public int recomputedRows() {
+        return recomputedRows;
+    }
+
+    public double distance(int source, int target) {
+        return distances[source][target];
+    }
+
+    public ShortestPathResult query(int source, int target) {
+        double cost = distances[source][target];
+        if (cost == Double.POSITIVE_INFINITY) {
+            return ShortestPathResult.notFound(0);
+        }
+
+        int[] predecessorRow = predecessors[source];
+        int length = 1;
+        for (int node = target; node != source; node = predecessorRow[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int node = target, i = length - 1; i >= 0; node = predecessorRow[node], i--) {
+            path[i] = node;
+        }
+        return new ShortestPathResult(path, cost, 0);
+    }
+
+    private static void computeRows(CostGraph graph, int[] rows, double[][] distances, int[][] predecessors, ForkJoinPool pool) {
+        if (rows.length == 0) return;
+        pool.submit(() -> Arrays.stream(rows).parallel().forEach(row -> computeRow(graph, row, distances, predecessors))).join();
+    }
+
+    private static void computeRow(CostGraph graph, int source, double[][] distances, int[][] predecessors) {
+        int nodeCount = graph.nodeCount();
+        double[] distanceRow = new double[nodeCount];
+        int[] predecessorRow = new int[nodeCount];
+        Arrays.fill(distanceRow, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessorRow, -1);
+
+        SearchWorkspace workspace = WORKSPACES.get();
+        workspace.reset(nodeCount);
+        workspace.relax(source, 0.0, -1);
+        while (!workspace.heap().isEmpty()) {
+            int node = workspace.settleNext();
+            distanceRow[node] = workspace.distance(node);
+            predecessorRow[node] = workspace.predecessor(node);
+
+            double base = distanceRow[node];
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (!workspace.isSettled(neighbor)) {
+                    workspace.relax(neighbor, base + graph.weight(edge), node);
+                }
+            }
+        }
+
+        distances[source] = distanceRow;
+        predecessors[source] = predecessorRow;
+    }
+}
@@ -0,0 +1,92 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@Slf4j
+public class DistanceMatrixPreprocessor extends GraphPreprocessor<DistanceMatrix> {
+
+    private final GraphChangeLog changeLog = new GraphChangeLog();
+
+    private final ForkJoinPool matrixPool;
+
+    private final int maxNodes;
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile int recomputedRows;
+
+    public DistanceMatrixPreprocessor(@Value("${routing.matrix.max-nodes:2000}") int maxNodes,
+                                      MeterRegistry meterRegistry,
+                                      ForkJoinPool matrixPool,
+                                      @Value("${routing.algorithm:AUTO}") RoutingAlgorithm routingAlgorithm) {
+        super("distance-matrix", routingAlgorithm.canSelect(RoutingAlgorithm.DISTANCE_MATRIX));
+        this.matrixPool = matrixPool;
+        this.maxNodes = maxNodes;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("routing.matrix.rows.recomputed", this, preprocessor -> preprocessor.recomputedRows)
+                .description("Rows recomputed by the last distance matrix update")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void onChange(CostGraphChangedEvent event) {
+        changeLog.record(event);
+    }
+
+    /**
+     * Returns {@code null} above the node limit, which keeps the matrix switched off
+     * for that snapshot and lets the routing engine fall back to a live search.
+     */
+    @Override
+    protected DistanceMatrix build(CostGraph graph) {
+        DistanceMatrix previous = latest();
+        List<CostGraphChangedEvent> applied = changeLog.takeChanges(previous == null ? null : previous.graph(), graph);
+
+        if (graph.nodeCount() > maxNodes) {
+            log.info(Constants.DISTANCE_MATRIX_DISABLED, graph.version(), graph.nodeCount(), maxNodes);
+            recomputedRows = 0;
+            return null;
+        }
+
+        long start = System.nanoTime();
+        DistanceMatrix matrix = applied == null ? null : updateIncrementally(previous, applied);
+        String mode = "incremental";
+        if (matrix == null) {
+            matrix = DistanceMatrix.build(graph, matrixPool);
+            recomputedRows = graph.nodeCount();
+            mode = "full";
+        }
+
+        Timer.builder("routing.matrix.build")
+                .description("Time spent computing or updating the all-pairs distance matrix")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return matrix;
+    }
+
+    private DistanceMatrix updateIncrementally(DistanceMatrix matrix, List<CostGraphChangedEvent> applied) {
+        int rows = 0;
+        for (CostGraphChangedEvent change : applied) {
+            matrix = matrix.update(change, matrixPool);
+            rows += matrix.recomputedRows();
+            if (rows > matrix.graph().nodeCount()) return null;
+        }
+        recomputedRows = rows;
+        return matrix;
+    }
+}
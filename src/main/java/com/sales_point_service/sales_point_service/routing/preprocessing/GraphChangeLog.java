@@ -0,0 +1,44 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Buffers single-edge change events so incremental preprocessors can replay exactly the
+ * edits between the snapshot their index was built for and the snapshot being rebuilt.
+ */
+public final class GraphChangeLog {
+
+    private final ConcurrentLinkedQueue<CostGraphChangedEvent> changes = new ConcurrentLinkedQueue<>();
+
+    public void record(CostGraphChangedEvent event) {
+        changes.add(event);
+    }
+
+    /**
+     * Removes every buffered event up to {@code graph}'s version and returns the ones after
+     * {@code previous}, or {@code null} when they do not form an unbroken chain of single-edge
+     * edits over the same node set.
+     */
+    public List<CostGraphChangedEvent> takeChanges(CostGraph previous, CostGraph graph) {
+        List<CostGraphChangedEvent> taken = new ArrayList<>();
+        CostGraphChangedEvent event;
+        while ((event = changes.peek()) != null && event.graph().version() <= graph.version()) {
+            taken.add(changes.poll());
+        }
+        if (previous == null || !graph.hasSameNodes(previous)) return null;
+
+        List<CostGraphChangedEvent> applied = new ArrayList<>();
+        long expected = previous.version() + 1;
+        for (CostGraphChangedEvent change : taken) {
+            if (change.graph().version() < expected) continue;
+            if (change.graph().version() != expected++ || change.isReload()) return null;
+            applied.add(change);
+        }
+        return expected == graph.version() + 1 ? applied : null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps a derived index of the cost graph fresh on a background thread. Rebuild requests
+ * are coalesced so a burst of edits triggers a single build against the newest snapshot,
+ * and readers only ever see an index whose version matches the snapshot they hold.
+ * Preprocessors whose engine cannot be selected under {@code routing.algorithm} are not
+ * eager: they ignore change events and only build when a reader asks for a fresh index.
+ */
+@Slf4j
+public abstract class GraphPreprocessor<T> {
+
+    private record Prepared<T>(long version, T index) {
+    }
+
+    private final AtomicReference<CostGraph> pending = new AtomicReference<>();
+    private final ExecutorService executor;
+
+    private final boolean eager;
+
+    private volatile Prepared<T> prepared;
+
+    protected GraphPreprocessor(String threadName, boolean eager) {
+        this.eager = eager;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    protected abstract T build(CostGraph graph);
+
+    protected void onChange(CostGraphChangedEvent event) {
+    }
+
+    protected T latest() {
+        Prepared<T> current = prepared;
+        return current == null ? null : current.index();
+    }
+
+    public T getIfFresh(CostGraph graph) {
+        Prepared<T> current = prepared;
+        if (current != null && current.version() == graph.version()) {
+            return current.index();
+        }
+        requestRebuild(graph);
+        return null;
+    }
+
+    public boolean isFresh(CostGraph graph) {
+        Prepared<T> current = prepared;
+        return current != null && current.version() == graph.version();
+    }
+
+    @EventListener
+    public void onGraphChanged(CostGraphChangedEvent event) {
+        if (!eager) return;
+        onChange(event);
+        requestRebuild(event.graph());
+    }
+
+    public void requestRebuild(CostGraph graph) {
+        Prepared<T> current = prepared;
+        if (current != null && current.version() >= graph.version()) return;
+
+        CostGraph previous = pending.getAndAccumulate(graph,
+                (queued, requested) -> queued == null || requested.version() > queued.version() ? requested : queued);
+        if (previous == null) {
+            executor.execute(this::drain);
+        }
+    }
+
+    public T rebuildNow(CostGraph graph) {
+        T index = build(graph);
+        publish(graph, index);
+        return index;
+    }
+
+    private void drain() {
+        CostGraph graph;
+        while ((graph = pending.get()) != null) {
+            try {
+                long start = System.nanoTime();
+                publish(graph, build(graph));
+                log.info(Constants.GRAPH_PREPROCESSING_FINISHED, getClass().getSimpleName(), graph.version(), (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error(Constants.GRAPH_PREPROCESSING_FAILED, getClass().getSimpleName(), graph.version(), e);
+            }
+            if (pending.compareAndSet(graph, null)) return;
+        }
+    }
+
+    private void publish(CostGraph graph, T index) {
+        Prepared<T> current = prepared;
+        if (current == null || current.version() <= graph.version()) {
+            prepared = new Prepared<>(graph.version(), index);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,112 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.OneToAllSearch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Exact distances from a few landmarks to every node, stored node-major so the
+ * triangle-inequality bounds for a pair read two contiguous slices.
+ */
+public final class LandmarkIndex {
+
+    private final int[] landmarks;
+    private final double[] distances;
+
+    private LandmarkIndex(int[] landmarks, double[] distances) {
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    public static LandmarkIndex build(CostGraph graph, int requestedLandmarks, OneToAllSearch oneToAllSearch) {
+        int nodeCount = graph.nodeCount();
+        if (nodeCount == 0 || requestedLandmarks <= 0) {
+            return new LandmarkIndex(new int[0], new double[0]);
+        }
+
+        double[] nearestLandmark = new double[nodeCount];
+        Arrays.fill(nearestLandmark, Double.POSITIVE_INFINITY);
+        int next = farthest(oneToAllSearch.distancesFrom(graph, 0));
+
+        List<Integer> chosen = new ArrayList<>();
+        List<double[]> rows = new ArrayList<>();
+        while (chosen.size() < Math.min(requestedLandmarks, nodeCount)) {
+            double[] row = oneToAllSearch.distancesFrom(graph, next);
+            chosen.add(next);
+            rows.add(row);
+            for (int node = 0; node < nodeCount; node++) {
+                nearestLandmark[node] = Math.min(nearestLandmark[node], row[node]);
+            }
+            next = farthest(nearestLandmark);
+            if (nearestLandmark[next] == 0.0) break;
+        }
+
+        int count = chosen.size();
+        int[] landmarks = new int[count];
+        double[] distances = new double[nodeCount * count];
+        for (int l = 0; l < count; l++) {
+            landmarks[l] = chosen.get(l);
+            double[] row = rows.get(l);
+            for (int node = 0; node < nodeCount; node++) {
+                distances[node * count + l] = row[node];
+            }
+        }
+        return new LandmarkIndex(landmarks, distances);
+    }
+
+    private static int farthest(double[] distances) {
+        int best = 0;
+        for (int node = 1; node < distances.length; node++) {
+            if (distances[node] > distances[best]) best = node;
+        }
+        return best;
+    }
+
+    public int landmarkCount() {
+        return landmarks.length;
+    }
+
+    public int landmark(int position) {
+        return landmarks[position];
+    }
+
+    public double distance(int position, int node) {
+        return distances[node * landmarks.length + position];
+    }
+
+    /**
+     * Lower bound on d(u, v); infinite when some landmark proves they are in different components.
+     */
+    public double lowerBound(int u, int v) {
+        int count = landmarks.length;
+        int baseU = u * count;
+        int baseV = v * count;
+        double best = 0.0;
+        for (int l = 0; l < count; l++) {
+            double du = distances[baseU + l];
+            double dv = distances[baseV + l];
+            if (du == Double.POSITIVE_INFINITY || dv == Double.POSITIVE_INFINITY) {
+                if (du != dv) return Double.POSITIVE_INFINITY;
+                continue;
+            }
+            double bound = Math.abs(du - dv);
+            if (bound > best) best = bound;
+        }
+        return best;
+    }
+
+    public double upperBound(int u, int v) {
+        int count = landmarks.length;
+        int baseU = u * count;
+        int baseV = v * count;
+        double best = Double.POSITIVE_INFINITY;
+        for (int l = 0; l < count; l++) {
+            double bound = distances[baseU + l] + distances[baseV + l];
+            if (bound < best) best = bound;
+        }
+        return best;
+    }
+}
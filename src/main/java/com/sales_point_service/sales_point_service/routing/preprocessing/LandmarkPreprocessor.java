@@ -0,0 +1,28 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.OneToAllSearch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LandmarkPreprocessor extends GraphPreprocessor<LandmarkIndex> {
+
+    private final OneToAllSearch oneToAllSearch;
+
+    private final int landmarkCount;
+
+    public LandmarkPreprocessor(OneToAllSearch oneToAllSearch,
+                                @Value("${routing.alt.landmarks:8}") int landmarkCount,
+                                @Value("${routing.algorithm:AUTO}") RoutingAlgorithm routingAlgorithm) {
+        super("alt-landmark-preprocessing", routingAlgorithm.canSelect(RoutingAlgorithm.ALT));
+        this.oneToAllSearch = oneToAllSearch;
+        this.landmarkCount = landmarkCount;
+    }
+
+    @Override
+    protected LandmarkIndex build(CostGraph graph) {
+        return LandmarkIndex.build(graph, landmarkCount, oneToAllSearch);
+    }
+}
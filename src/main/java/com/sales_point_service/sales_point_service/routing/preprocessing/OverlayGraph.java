@@ -0,0 +1,289 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Customizable multi-level overlay (CRP). Every cell of every level keeps its own clique matrix
+ * with the in-cell distances between its boundary nodes, computed on the level below.
+ * A weight change only recomputes the cliques of the cells containing that edge; every other
+ * cell matrix, and every level without a dirty cell, is shared with the previous overlay.
+ */
+public final class OverlayGraph {
+
+    private static final ThreadLocal<OverlayWorkspace> CUSTOMIZATION_WORKSPACES = ThreadLocal.withInitial(OverlayWorkspace::new);
+
+    private final CostGraph graph;
+    private final OverlayPartition partition;
+    private final int[][] boundaryOffsets;
+    private final int[][] boundaryNodes;
+    private final int[][] boundaryPosition;
+    private final double[][][] cliques;
+
+    public static final class OverlayWorkspace {
+        private final SearchWorkspace search = new SearchWorkspace();
+        private int[] hopLevel = new int[0];
+
+        private void reset(int nodeCount) {
+            search.reset(nodeCount);
+            if (hopLevel.length < nodeCount) {
+                hopLevel = new int[Math.max(nodeCount, hopLevel.length + (hopLevel.length >> 1))];
+            }
+        }
+
+        private void relax(int node, double candidate, int from, int level) {
+            if (search.relax(node, candidate, from)) {
+                hopLevel[node] = level;
+            }
+        }
+    }
+
+    private OverlayGraph(CostGraph graph, OverlayPartition partition, int[][] boundaryOffsets, int[][] boundaryNodes,
+                         int[][] boundaryPosition, double[][][] cliques) {
+        this.graph = graph;
+        this.partition = partition;
+        this.boundaryOffsets = boundaryOffsets;
+        this.boundaryNodes = boundaryNodes;
+        this.boundaryPosition = boundaryPosition;
+        this.cliques = cliques;
+    }
+
+    public CostGraph graph() {
+        return graph;
+    }
+
+    public OverlayPartition partition() {
+        return partition;
+    }
+
+    public static OverlayGraph customize(CostGraph graph, OverlayPartition partition, ForkJoinPool pool) {
+        int levels = partition.levels();
+        int nodeCount = graph.nodeCount();
+        int[][] boundaryOffsets = new int[levels + 1][];
+        int[][] boundaryNodes = new int[levels + 1][];
+        int[][] boundaryPosition = new int[levels + 1][];
+        double[][][] cliques = new double[levels + 1][][];
+
+        for (int level = 1; level <= levels; level++) {
+            int cells = partition.cellCount(level);
+            int[] offsets = new int[cells + 1];
+            int[] position = new int[nodeCount];
+            Arrays.fill(position, -1);
+
+            for (int node = 0; node < nodeCount; node++) {
+                int cell = partition.cellOf(level, node);
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    if (partition.cellOf(level, graph.target(edge)) != cell) {
+                        position[node] = offsets[cell + 1]++;
+                        break;
+                    }
+                }
+            }
+            for (int cell = 0; cell < cells; cell++) {
+                offsets[cell + 1] += offsets[cell];
+            }
+
+            int[] nodes = new int[offsets[cells]];
+            for (int node = 0; node < nodeCount; node++) {
+                if (position[node] >= 0) {
+                    nodes[offsets[partition.cellOf(level, node)] + position[node]] = node;
+                }
+            }
+
+            boundaryOffsets[level] = offsets;
+            boundaryNodes[level] = nodes;
+            boundaryPosition[level] = position;
+            cliques[level] = new double[cells][];
+        }
+
+        OverlayGraph overlay = new OverlayGraph(graph, partition, boundaryOffsets, boundaryNodes, boundaryPosition, cliques);
+        for (int level = 1; level <= levels; level++) {
+            int[] allCells = new int[partition.cellCount(level)];
+            Arrays.setAll(allCells, cell -> cell);
+            overlay.customizeCells(level, allCells, pool);
+        }
+        return overlay;
+    }
+
+    /**
+     * Derives the overlay for {@code updated}, whose topology matches this overlay's graph
+     * and whose weights differ only on the given edges (pairs of node indices).
+     */
+    public OverlayGraph recustomize(CostGraph updated, int[] edgeEnds, ForkJoinPool pool) {
+        int[][] dirtyCells = new int[cliques.length][];
+        double[][][] updatedCliques = cliques.clone();
+        for (int level = 1; level <= partition.levels(); level++) {
+            int[] dirty = new int[edgeEnds.length / 2];
+            int count = 0;
+            for (int i = 0; i + 1 < edgeEnds.length; i += 2) {
+                int cell = partition.cellOf(level, edgeEnds[i]);
+                if (cell == partition.cellOf(level, edgeEnds[i + 1])) {
+                    dirty[count++] = cell;
+                }
+            }
+            dirtyCells[level] = Arrays.stream(dirty, 0, count).distinct().toArray();
+            if (count > 0) {
+                updatedCliques[level] = cliques[level].clone();
+            }
+        }
+
+        OverlayGraph overlay = new OverlayGraph(updated, partition, boundaryOffsets, boundaryNodes, boundaryPosition, updatedCliques);
+        for (int level = 1; level <= partition.levels(); level++) {
+            overlay.customizeCells(level, dirtyCells[level], pool);
+        }
+        return overlay;
+    }
+
+    private void customizeCells(int level, int[] cells, ForkJoinPool pool) {
+        if (cells.length == 0) return;
+        if (cells.length == 1) {
+            customizeCell(level, cells[0]);
+            return;
+        }
+        pool.submit(() -> Arrays.stream(cells).parallel().forEach(cell -> customizeCell(level, cell))).join();
+    }
+
+    private void customizeCell(int level, int cell) {
+        int first = boundaryOffsets[level][cell];
+        int size = boundaryOffsets[level][cell + 1] - first;
+        double[] matrix = new double[size * size];
+        OverlayWorkspace workspace = CUSTOMIZATION_WORKSPACES.get();
+
+        for (int i = 0; i < size; i++) {
+            searchCell(level, cell, boundaryNodes[level][first + i], -1, workspace);
+            for (int j = 0; j < size; j++) {
+                matrix[i * size + j] = workspace.search.distance(boundaryNodes[level][first + j]);
+            }
+        }
+        cliques[level][cell] = matrix;
+    }
+
+    private void searchCell(int level, int cell, int source, int target, OverlayWorkspace workspace) {
+        SearchWorkspace search = workspace.search;
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1, 0);
+        int lower = level - 1;
+
+        while (!search.heap().isEmpty()) {
+            int node = search.settleNext();
+            if (node == target) return;
+
+            double base = search.distance(node);
+            boolean overlayNode = lower >= 1 && boundaryPosition[lower][node] >= 0;
+            if (overlayNode) {
+                relaxClique(lower, node, base, workspace);
+            }
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (partition.cellOf(level, neighbor) != cell || search.isSettled(neighbor)) continue;
+                if (overlayNode && partition.cellOf(lower, neighbor) == partition.cellOf(lower, node)) continue;
+                workspace.relax(neighbor, base + graph.weight(edge), node, 0);
+            }
+        }
+    }
+
+    private void relaxClique(int level, int node, double base, OverlayWorkspace workspace) {
+        int cell = partition.cellOf(level, node);
+        int first = boundaryOffsets[level][cell];
+        int size = boundaryOffsets[level][cell + 1] - first;
+        double[] matrix = cliques[level][cell];
+        int row = boundaryPosition[level][node] * size;
+
+        for (int j = 0; j < size; j++) {
+            int neighbor = boundaryNodes[level][first + j];
+            double weight = matrix[row + j];
+            if (neighbor == node || weight == Double.POSITIVE_INFINITY || workspace.search.isSettled(neighbor)) continue;
+            workspace.relax(neighbor, base + weight, node, level);
+        }
+    }
+
+    private int queryLevel(int node, int source, int target) {
+        for (int level = partition.levels(); level >= 1; level--) {
+            int cell = partition.cellOf(level, node);
+            if (cell != partition.cellOf(level, source) && cell != partition.cellOf(level, target)) {
+                return level;
+            }
+        }
+        return 0;
+    }
+
+    public ShortestPathResult query(int source, int target, OverlayWorkspace workspace, OverlayWorkspace unpackWorkspace) {
+        SearchWorkspace search = workspace.search;
+        workspace.reset(graph.nodeCount());
+        workspace.relax(source, 0.0, -1, 0);
+
+        while (!search.heap().isEmpty()) {
+            int node = search.settleNext();
+            if (node == target) break;
+
+            double base = search.distance(node);
+            int level = queryLevel(node, source, target);
+            boolean overlayNode = level >= 1 && boundaryPosition[level][node] >= 0;
+            if (overlayNode) {
+                relaxClique(level, node, base, workspace);
+            }
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (search.isSettled(neighbor)) continue;
+                if (overlayNode && partition.cellOf(level, neighbor) == partition.cellOf(level, node)) continue;
+                workspace.relax(neighbor, base + graph.weight(edge), node, 0);
+            }
+        }
+
+        if (!search.isReached(target)) {
+            return ShortestPathResult.notFound(search.settledCount());
+        }
+
+        int[] hops = search.pathTo(target);
+        int[] levels = new int[hops.length];
+        for (int i = 1; i < hops.length; i++) {
+            levels[i] = workspace.hopLevel[hops[i]];
+        }
+
+        PathBuilder path = new PathBuilder(hops.length * 2);
+        path.add(source);
+        for (int i = 1; i < hops.length; i++) {
+            appendHop(levels[i], hops[i - 1], hops[i], unpackWorkspace, path);
+        }
+        return new ShortestPathResult(path.toArray(), search.distance(target), search.settledCount());
+    }
+
+    private void appendHop(int level, int from, int to, OverlayWorkspace workspace, PathBuilder path) {
+        if (level == 0) {
+            path.add(to);
+            return;
+        }
+
+        searchCell(level, partition.cellOf(level, from), from, to, workspace);
+        int[] hops = workspace.search.pathTo(to);
+        int[] levels = new int[hops.length];
+        for (int i = 1; i < hops.length; i++) {
+            levels[i] = workspace.hopLevel[hops[i]];
+        }
+        for (int i = 1; i < hops.length; i++) {
+            appendHop(levels[i], hops[i - 1], hops[i], workspace, path);
+        }
+    }
+
+    private static final class PathBuilder {
+        private int[] nodes;
+        private int size;
+
+        PathBuilder(int capacity) {
+            nodes = new int[Math.max(4, capacity)];
+        }
+
+        void add(int node) {
+            if (size == nodes.length) nodes = Arrays.copyOf(nodes, size * 2);
+            nodes[size++] = node;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(nodes, size);
+        }
+    }
+}
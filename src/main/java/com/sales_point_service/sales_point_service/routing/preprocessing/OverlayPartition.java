@@ -0,0 +1,135 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
+import java.util.Arrays;
+
+/**
+ * Nested multi-level partition of the sale point graph. Level 1 cells are grown by
+ * breadth-first search up to {@code baseCellSize} nodes; each coarser level merges
+ * neighbouring cells of the level below up to {@code fanout} times the previous size.
+ * The partition only depends on the node set and topology, never on costs.
+ */
+public final class OverlayPartition {
+
+    private final int levels;
+    private final int[][] cellOf;
+    private final int[] cellCount;
+
+    private OverlayPartition(int levels, int[][] cellOf, int[] cellCount) {
+        this.levels = levels;
+        this.cellOf = cellOf;
+        this.cellCount = cellCount;
+    }
+
+    public static OverlayPartition build(CostGraph graph, int levels, int baseCellSize, int fanout) {
+        int nodeCount = graph.nodeCount();
+        int[][] cellOf = new int[levels + 1][];
+        int[] cellCount = new int[levels + 1];
+
+        cellOf[1] = new int[nodeCount];
+        cellCount[1] = growBaseCells(graph, baseCellSize, cellOf[1]);
+
+        long capacity = baseCellSize;
+        for (int level = 2; level <= levels; level++) {
+            capacity = Math.min(Integer.MAX_VALUE, capacity * fanout);
+            int[] groupOfCell = new int[cellCount[level - 1]];
+            cellCount[level] = mergeCells(graph, cellOf[level - 1], cellCount[level - 1], (int) capacity, groupOfCell);
+
+            cellOf[level] = new int[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                cellOf[level][node] = groupOfCell[cellOf[level - 1][node]];
+            }
+        }
+        return new OverlayPartition(levels, cellOf, cellCount);
+    }
+
+    public int levels() {
+        return levels;
+    }
+
+    public int cellCount(int level) {
+        return cellCount[level];
+    }
+
+    public int cellOf(int level, int node) {
+        return cellOf[level][node];
+    }
+
+    private static int growBaseCells(CostGraph graph, int cellSize, int[] cellOf) {
+        int nodeCount = graph.nodeCount();
+        Arrays.fill(cellOf, -1);
+        int[] queue = new int[nodeCount];
+        int cells = 0;
+
+        for (int seed = 0; seed < nodeCount; seed++) {
+            if (cellOf[seed] >= 0) continue;
+
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = seed;
+            cellOf[seed] = cells;
+            while (head < tail && tail < cellSize) {
+                int node = queue[head++];
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (cellOf[neighbor] >= 0 || tail >= cellSize) continue;
+                    cellOf[neighbor] = cells;
+                    queue[tail++] = neighbor;
+                }
+            }
+            cells++;
+        }
+        return cells;
+    }
+
+    private static int mergeCells(CostGraph graph, int[] cellOf, int cells, int capacity, int[] groupOfCell) {
+        int[] cellSize = new int[cells];
+        for (int cell : cellOf) {
+            cellSize[cell]++;
+        }
+
+        int[] adjacencyOffsets = new int[cells + 1];
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if (cellOf[graph.target(edge)] != cellOf[node]) adjacencyOffsets[cellOf[node] + 1]++;
+            }
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            adjacencyOffsets[cell + 1] += adjacencyOffsets[cell];
+        }
+        int[] adjacency = new int[adjacencyOffsets[cells]];
+        int[] fill = Arrays.copyOf(adjacencyOffsets, cells);
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighborCell = cellOf[graph.target(edge)];
+                if (neighborCell != cellOf[node]) adjacency[fill[cellOf[node]]++] = neighborCell;
+            }
+        }
+
+        Arrays.fill(groupOfCell, -1);
+        int[] queue = new int[cells];
+        int groups = 0;
+        for (int seed = 0; seed < cells; seed++) {
+            if (groupOfCell[seed] >= 0) continue;
+
+            int head = 0;
+            int tail = 0;
+            long size = cellSize[seed];
+            queue[tail++] = seed;
+            groupOfCell[seed] = groups;
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int i = adjacencyOffsets[cell]; i < adjacencyOffsets[cell + 1]; i++) {
+                    int neighbor = adjacency[i];
+                    if (groupOfCell[neighbor] >= 0 || size + cellSize[neighbor] > capacity) continue;
+                    groupOfCell[neighbor] = groups;
+                    size += cellSize[neighbor];
+                    queue[tail++] = neighbor;
+                }
+            }
+            groups++;
+        }
+        return groups;
+    }
+}
@@ -0,0 +1,89 @@
+package com.sales_point_service.sales_point_service.routing.preprocessing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class OverlayPreprocessor extends GraphPreprocessor<OverlayGraph> {
+
+    private final GraphChangeLog changeLog = new GraphChangeLog();
+
+    private final ForkJoinPool customizationPool;
+
+    private final int levels;
+
+    private final int cellSize;
+
+    private final int fanout;
+
+    private final MeterRegistry meterRegistry;
+
+    public OverlayPreprocessor(@Value("${routing.overlay.levels:3}") int levels,
+                               @Value("${routing.overlay.cell-size:64}") int cellSize,
+                               @Value("${routing.overlay.fanout:8}") int fanout,
+                               MeterRegistry meterRegistry,
+                               ForkJoinPool customizationPool,
+                               @Value("${routing.algorithm:AUTO}") RoutingAlgorithm routingAlgorithm) {
+        super("overlay-customization", routingAlgorithm.canSelect(RoutingAlgorithm.CUSTOMIZABLE_OVERLAY));
+        this.customizationPool = customizationPool;
+        this.levels = levels;
+        this.cellSize = cellSize;
+        this.fanout = fanout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void onChange(CostGraphChangedEvent event) {
+        changeLog.record(event);
+    }
+
+    @Override
+    protected OverlayGraph build(CostGraph graph) {
+        OverlayGraph previous = latest();
+        List<CostGraphChangedEvent> applied = changeLog.takeChanges(previous == null ? null : previous.graph(), graph);
+        long start = System.nanoTime();
+
+        OverlayGraph overlay;
+        String mode;
+        int[] edgeEnds = weightOnlyChanges(graph, applied);
+        if (edgeEnds != null) {
+            overlay = previous.recustomize(graph, edgeEnds, customizationPool);
+            mode = "incremental";
+        } else if (previous != null && graph.hasSameNodes(previous.graph())) {
+            overlay = OverlayGraph.customize(graph, previous.partition(), customizationPool);
+            mode = "full";
+        } else {
+            overlay = OverlayGraph.customize(graph, OverlayPartition.build(graph, levels, cellSize, fanout), customizationPool);
+            mode = "partition";
+        }
+
+        Timer.builder("routing.overlay.customization")
+                .description("Time spent partitioning and customizing the multi-level overlay")
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return overlay;
+    }
+
+    private static int[] weightOnlyChanges(CostGraph graph, List<CostGraphChangedEvent> applied) {
+        if (applied == null || applied.isEmpty()) return null;
+
+        int[] edgeEnds = new int[applied.size() * 2];
+        int count = 0;
+        for (CostGraphChangedEvent event : applied) {
+            if (event.previousCost() == null || event.newCost() == null) return null;
+            edgeEnds[count++] = graph.indexOf(event.fromId());
+            edgeEnds[count++] = graph.indexOf(event.toId());
+        }
+        return edgeEnds;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request cost changes read on top of an immutable snapshot. Existing arcs are
+ * overridden by CSR position, with NaN marking a removal, and links the snapshot lacks are
+ * kept per node; nothing from the snapshot itself is copied.
+ */
+public final class CostOverlay {
+
+    private final CostGraph graph;
+    private final Map<Integer, Double> arcWeights = new HashMap<>();
+    private final Map<Integer, Map<Integer, Double>> addedArcs = new HashMap<>();
+
+    public CostOverlay(CostGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Sets the cost of the link between two nodes in both directions, or removes it when
+     * {@code cost} is null.
+     */
+    public void put(int from, int to, Double cost) {
+        putArc(from, to, cost);
+        putArc(to, from, cost);
+    }
+
+    private void putArc(int from, int to, Double cost) {
+        int edge = graph.edgeBetween(from, to);
+        if (edge >= 0) {
+            arcWeights.put(edge, cost == null ? Double.NaN : cost);
+        } else if (cost != null) {
+            addedArcs.computeIfAbsent(from, k -> new HashMap<>()).put(to, cost);
+        } else {
+            Map<Integer, Double> added = addedArcs.get(from);
+            if (added != null) added.remove(to);
+        }
+    }
+
+    public CostGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Effective weight of a snapshot arc, NaN when the overlay removed it.
+     */
+    public double weight(int edge) {
+        Double overridden = arcWeights.get(edge);
+        return overridden != null ? overridden : graph.weight(edge);
+    }
+
+    public Map<Integer, Double> addedArcs(int node) {
+        return addedArcs.getOrDefault(node, Map.of());
+    }
+
+    public int size() {
+        return arcWeights.size() + addedArcs.values().stream().mapToInt(Map::size).sum();
+    }
+}
@@ -0,0 +1,234 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+import com.sales_point_service.sales_point_service.dtos.OneToAllResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Delta-stepping single-source search (Meyer–Sanders). Tentative distances are kept as raw
+ * double bits in an {@link AtomicLongArray}, which orders correctly for non-negative costs,
+ * and lowered with compare-and-set. Each bucket of width {@code delta} is drained by
+ * relaxing light edges in parallel phases until it stops refilling, then heavy edges of
+ * everything it settled are relaxed once. Predecessors are derived from the final distances
+ * over the reverse arcs, which the symmetric cost graph provides.
+ */
+public final class DeltaStepping {
+
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final int MIN_CHUNK = 128;
+
+    private final CostGraph graph;
+    private final double delta;
+    private final double maxCost;
+    private final ForkJoinPool pool;
+    private final AtomicLongArray distance;
+    private final int[] frontierStamp;
+    private int phase;
+
+    private DeltaStepping(CostGraph graph, double delta, double maxCost, ForkJoinPool pool) {
+        this.graph = graph;
+        this.delta = delta;
+        this.maxCost = maxCost;
+        this.pool = pool;
+        long[] initial = new long[graph.nodeCount()];
+        Arrays.fill(initial, Double.doubleToRawLongBits(Double.POSITIVE_INFINITY));
+        this.distance = new AtomicLongArray(initial);
+        this.frontierStamp = new int[graph.nodeCount()];
+    }
+
+    public static OneToAllResult run(CostGraph graph, int source, double delta, double maxCost, ForkJoinPool pool) {
+        return new DeltaStepping(graph, delta, maxCost, pool).search(source);
+    }
+
+    /**
+     * Bucket width from the mean arc weight, which keeps light phases short on road-like
+     * graphs without degenerating into Bellman-Ford.
+     */
+    public static double defaultDelta(CostGraph graph) {
+        double total = 0.0;
+        for (int edge = 0; edge < graph.edgeCount(); edge++) {
+            total += graph.weight(edge);
+        }
+        double mean = graph.edgeCount() == 0 ? 0.0 : total / graph.edgeCount();
+        return mean > 0.0 ? mean : 1.0;
+    }
+
+    private OneToAllResult search(int source) {
+        TreeMap<Long, IntBag> buckets = new TreeMap<>();
+        lower(source, 0.0);
+        bucket(buckets, 0L).add(source);
+
+        IntBag settled = new IntBag();
+        while (!buckets.isEmpty()) {
+            Map.Entry<Long, IntBag> entry = buckets.pollFirstEntry();
+            long index = entry.getKey();
+            IntBag pending = entry.getValue();
+            settled.clear();
+
+            while (pending.size > 0) {
+                IntBag frontier = new IntBag();
+                phase++;
+                for (int i = 0; i < pending.size; i++) {
+                    int node = pending.data[i];
+                    if (frontierStamp[node] != phase && bucketOf(distanceOf(node)) == index) {
+                        frontierStamp[node] = phase;
+                        frontier.add(node);
+                        settled.add(node);
+                    }
+                }
+
+                IntBag updated = relaxAll(frontier, true);
+                pending = new IntBag();
+                for (int i = 0; i < updated.size; i++) {
+                    int node = updated.data[i];
+                    long target = bucketOf(distanceOf(node));
+                    if (target == index) pending.add(node);
+                    else bucket(buckets, target).add(node);
+                }
+            }
+
+            phase++;
+            IntBag distinctSettled = new IntBag();
+            for (int i = 0; i < settled.size; i++) {
+                int node = settled.data[i];
+                if (frontierStamp[node] != phase) {
+                    frontierStamp[node] = phase;
+                    distinctSettled.add(node);
+                }
+            }
+            IntBag updated = relaxAll(distinctSettled, false);
+            for (int i = 0; i < updated.size; i++) {
+                int node = updated.data[i];
+                bucket(buckets, bucketOf(distanceOf(node))).add(node);
+            }
+        }
+
+        double[] distances = new double[graph.nodeCount()];
+        for (int node = 0; node < distances.length; node++) {
+            distances[node] = distanceOf(node);
+        }
+        return new OneToAllResult(source, distances, predecessors(source, distances));
+    }
+
+    private IntBag relaxAll(IntBag frontier, boolean light) {
+        if (frontier.size < PARALLEL_THRESHOLD) {
+            IntBag updated = new IntBag();
+            relaxRange(frontier, 0, frontier.size, light, updated);
+            return updated;
+        }
+
+        int chunks = Math.max(1, Math.min(pool.getParallelism() * 4, frontier.size / MIN_CHUNK));
+        int chunkSize = (frontier.size + chunks - 1) / chunks;
+        return pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    IntBag updated = new IntBag();
+                    relaxRange(frontier, chunk * chunkSize, Math.min(frontier.size, (chunk + 1) * chunkSize), light, updated);
+                    return updated;
+                })
+                .reduce(new IntBag(), IntBag::concat)).join();
+    }
+
+    private void relaxRange(IntBag frontier, int from, int to, boolean light, IntBag updated) {
+        for (int i = from; i < to; i++) {
+            int node = frontier.data[i];
+            double base = distanceOf(node);
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                double weight = graph.weight(edge);
+                if ((weight <= delta) != light) continue;
+                double candidate = base + weight;
+                if (candidate <= maxCost && lower(graph.target(edge), candidate)) {
+                    updated.add(graph.target(edge));
+                }
+            }
+        }
+    }
+
+    private boolean lower(int node, double candidate) {
+        long bits = Double.doubleToRawLongBits(candidate);
+        while (true) {
+            long current = distance.get(node);
+            if (bits >= current) return false;
+            if (distance.compareAndSet(node, current, bits)) return true;
+        }
+    }
+
+    private double distanceOf(int node) {
+        return Double.longBitsToDouble(distance.get(node));
+    }
+
+    private long bucketOf(double cost) {
+        return (long) Math.floor(cost / delta);
+    }
+
+    private static IntBag bucket(TreeMap<Long, IntBag> buckets, long index) {
+        return buckets.computeIfAbsent(index, k -> new IntBag());
+    }
+
+    private int[] predecessors(int source, double[] distances) {
+        int nodeCount = graph.nodeCount();
+        int[] predecessors = new int[nodeCount];
+        Arrays.fill(predecessors, -1);
+
+        pool.submit(() -> IntStream.range(0, nodeCount).parallel().forEach(node -> {
+            if (node == source || distances[node] == Double.POSITIVE_INFINITY) return;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                int neighbor = graph.target(edge);
+                if (distances[neighbor] < distances[node] && distances[neighbor] + graph.weight(edge) == distances[node]) {
+                    predecessors[node] = neighbor;
+                    return;
+                }
+            }
+        })).join();
+
+        IntBag unresolved = new IntBag();
+        for (int node = 0; node < nodeCount; node++) {
+            if (node != source && predecessors[node] < 0 && distances[node] != Double.POSITIVE_INFINITY) unresolved.add(node);
+        }
+        boolean changed = unresolved.size > 0;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < unresolved.size; i++) {
+                int node = unresolved.data[i];
+                if (predecessors[node] >= 0) continue;
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int neighbor = graph.target(edge);
+                    if ((neighbor == source || predecessors[neighbor] >= 0)
+                            && distances[neighbor] + graph.weight(edge) == distances[node]) {
+                        predecessors[node] = neighbor;
+                        changed = true;
+                        break;
+                    }
+                }
+            }
+        }
+        return predecessors;
+    }
+
+    private static final class IntBag {
+        private int[] data = new int[16];
+        private int size;
+
+        private void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size << 1);
+            data[size++] = value;
+        }
+
+        private void clear() {
+            size = 0;
+        }
+
+        private static IntBag concat(IntBag left, IntBag right) {
+            IntBag merged = new IntBag();
+            merged.data = Arrays.copyOf(left.data, Math.max(16, left.size + right.size));
+            System.arraycopy(right.data, 0, merged.data, left.size, right.size);
+            merged.size = left.size + right.size;
+            return merged;
+        }
+    }
+}
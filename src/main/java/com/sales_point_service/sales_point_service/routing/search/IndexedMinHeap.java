@@ -0,0 +1,135 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+import java.util.Arrays;
+
+/**
+ * 4-ary min-heap over dense int node ids with decrease-key. Storage is reused across
+ * searches; {@link #clear()} only touches the entries still queued.
+ */
+public final class IndexedMinHeap {
+
+    private static final int ARITY = 4;
+
+    private int[] nodes = new int[0];
+    private double[] keys = new double[0];
+    private int[] positions = new int[0];
+    private int size;
+
+    public void ensureCapacity(int nodeCount) {
+        if (positions.length >= nodeCount) return;
+
+        int capacity = Math.max(nodeCount, positions.length + (positions.length >> 1));
+        int previous = positions.length;
+        nodes = Arrays.copyOf(nodes, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, previous, capacity, -1);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[nodes[i]] = -1;
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int node) {
+        return positions[node] >= 0;
+    }
+
+    public double minKey() {
+        return size == 0 ? Double.POSITIVE_INFINITY : keys[0];
+    }
+
+    public int peekMin() {
+        return nodes[0];
+    }
+
+    public void insertOrDecrease(int node, double key) {
+        int position = positions[node];
+        if (position < 0) {
+            position = size++;
+            nodes[position] = node;
+            positions[node] = position;
+        } else if (key >= keys[position]) {
+            return;
+        }
+        keys[position] = key;
+        siftUp(position);
+    }
+
+    public void update(int node, double key) {
+        int position = positions[node];
+        if (position < 0 || key <= keys[position]) {
+            insertOrDecrease(node, key);
+            return;
+        }
+        keys[position] = key;
+        siftDown(position);
+    }
+
+    public int pollMin() {
+        int min = nodes[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            nodes[0] = nodes[size];
+            keys[0] = keys[size];
+            positions[nodes[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int position) {
+        int node = nodes[position];
+        double key = keys[position];
+        while (position > 0) {
+            int parent = (position - 1) / ARITY;
+            if (keys[parent] <= key) break;
+            move(parent, position);
+            position = parent;
+        }
+        place(node, key, position);
+    }
+
+    private void siftDown(int position) {
+        int node = nodes[position];
+        double key = keys[position];
+        while (true) {
+            int first = position * ARITY + 1;
+            if (first >= size) break;
+
+            int best = first;
+            int last = Math.min(first + ARITY, size);
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < keys[best]) best = child;
+            }
+            if (keys[best] >= key) break;
+
+            move(best, position);
+            position = best;
+        }
+        place(node, key, position);
+    }
+
+    private void move(int from, int to) {
+        nodes[to] = nodes[from];
+        keys[to] = keys[from];
+        positions[nodes[to]] = to;
+    }
+
+    private void place(int node, double key, int position) {
+        nodes[position] = node;
+        keys[position] = key;
+        positions[node] = position;
+    }
+}
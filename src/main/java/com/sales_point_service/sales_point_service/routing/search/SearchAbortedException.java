@@ -0,0 +1,27 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+public class SearchAbortedException extends RuntimeException {
+
+    public enum Reason {
+        DEADLINE,
+        SETTLED_BUDGET
+    }
+
+    private final Reason reason;
+
+    private final long settledNodes;
+
+    public SearchAbortedException(Reason reason, long settledNodes) {
+        super(reason + " exceeded after settling " + settledNodes + " nodes");
+        this.reason = reason;
+        this.settledNodes = settledNodes;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+
+    public long getSettledNodes() {
+        return settledNodes;
+    }
+}
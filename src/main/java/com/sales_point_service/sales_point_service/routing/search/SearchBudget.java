@@ -0,0 +1,68 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+/**
+ * Deadline and settled-node allowance for the searches of one request. A budget is bound
+ * to the calling thread with {@link #activate()}; workspaces pick it up on reset and charge
+ * it every {@link #CHECK_INTERVAL} settled nodes, so the hot loop only pays a counter test.
+ * Searches on other threads, such as background preprocessing, never see it.
+ */
+public final class SearchBudget {
+
+    public static final int CHECK_INTERVAL = 256;
+
+    private static final ThreadLocal<SearchBudget> ACTIVE = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final long maxSettled;
+    private long settled;
+
+    private SearchBudget(long deadlineNanos, long maxSettled) {
+        this.deadlineNanos = deadlineNanos;
+        this.maxSettled = maxSettled;
+    }
+
+    /**
+     * @param timeoutMs  milliseconds from now before searches abort, or 0 for no deadline
+     * @param maxSettled settled nodes allowed across all searches, or 0 for no limit
+     */
+    public static SearchBudget of(long timeoutMs, long maxSettled) {
+        long deadline = timeoutMs > 0 ? System.nanoTime() + timeoutMs * 1_000_000 : Long.MAX_VALUE;
+        return new SearchBudget(deadline, maxSettled > 0 ? maxSettled : Long.MAX_VALUE);
+    }
+
+    public static SearchBudget current() {
+        return ACTIVE.get();
+    }
+
+    public Scope activate() {
+        SearchBudget previous = ACTIVE.get();
+        ACTIVE.set(this);
+        return () -> {
+            if (previous == null) ACTIVE.remove();
+            else ACTIVE.set(previous);
+        };
+    }
+
+    public boolean isLimited() {
+        return maxSettled != Long.MAX_VALUE || deadlineNanos != Long.MAX_VALUE;
+    }
+
+    public void charge(int settledNodes) {
+        settled += settledNodes;
+        if (settled > maxSettled) {
+            throw new SearchAbortedException(SearchAbortedException.Reason.SETTLED_BUDGET, settled);
+        }
+        if (deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0) {
+            throw new SearchAbortedException(SearchAbortedException.Reason.DEADLINE, settled);
+        }
+    }
+
+    public long settled() {
+        return settled;
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+import java.util.BitSet;
+
+/**
+ * Nodes and arcs a search must not enter, so callers can exclude parts of the snapshot
+ * without copying it. Arc indexes are CSR edge positions, one per direction.
+ */
+public final class SearchMask {
+
+    private final BitSet blockedNodes = new BitSet();
+    private final BitSet blockedEdges = new BitSet();
+
+    public void clear() {
+        blockedNodes.clear();
+        blockedEdges.clear();
+    }
+
+    public void blockNode(int node) {
+        blockedNodes.set(node);
+    }
+
+    public void blockEdge(int edge) {
+        blockedEdges.set(edge);
+    }
+
+    public boolean isNodeBlocked(int node) {
+        return blockedNodes.get(node);
+    }
+
+    public boolean isEdgeBlocked(int edge) {
+        return blockedEdges.get(edge);
+    }
+}
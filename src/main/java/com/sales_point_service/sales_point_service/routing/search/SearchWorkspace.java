@@ -0,0 +1,101 @@
+package com.sales_point_service.sales_point_service.routing.search;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch space for a single-threaded label-setting search. Entries are
+ * validated with a generation stamp, so {@link #reset(int)} is O(1) instead of clearing.
+ */
+public final class SearchWorkspace {
+
+    private double[] distance = new double[0];
+    private int[] predecessor = new int[0];
+    private int[] reachedStamp = new int[0];
+    private int[] settledStamp = new int[0];
+    private int generation;
+    private int settledCount;
+    private SearchBudget budget;
+
+    private final IndexedMinHeap heap = new IndexedMinHeap();
+
+    public void reset(int nodeCount) {
+        if (distance.length < nodeCount) {
+            int capacity = Math.max(nodeCount, distance.length + (distance.length >> 1));
+            distance = new double[capacity];
+            predecessor = new int[capacity];
+            reachedStamp = new int[capacity];
+            settledStamp = new int[capacity];
+            generation = 0;
+        }
+        heap.ensureCapacity(nodeCount);
+        heap.clear();
+
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(reachedStamp, 0);
+            Arrays.fill(settledStamp, 0);
+            generation = 1;
+        }
+        settledCount = 0;
+        budget = SearchBudget.current();
+    }
+
+    public IndexedMinHeap heap() {
+        return heap;
+    }
+
+    public boolean isReached(int node) {
+        return reachedStamp[node] == generation;
+    }
+
+    public boolean isSettled(int node) {
+        return settledStamp[node] == generation;
+    }
+
+    public double distance(int node) {
+        return reachedStamp[node] == generation ? distance[node] : Double.POSITIVE_INFINITY;
+    }
+
+    public int predecessor(int node) {
+        return reachedStamp[node] == generation ? predecessor[node] : -1;
+    }
+
+    public int settledCount() {
+        return settledCount;
+    }
+
+    public boolean relax(int node, double candidate, int from) {
+        return relax(node, candidate, from, candidate);
+    }
+
+    public boolean relax(int node, double candidate, int from, double priority) {
+        if (reachedStamp[node] == generation && candidate >= distance[node]) {
+            return false;
+        }
+        reachedStamp[node] = generation;
+        distance[node] = candidate;
+        predecessor[node] = from;
+        heap.insertOrDecrease(node, priority);
+        return true;
+    }
+
+    public int settleNext() {
+        int node = heap.pollMin();
+        settledStamp[node] = generation;
+        if (++settledCount % SearchBudget.CHECK_INTERVAL == 0 && budget != null) {
+            budget.charge(SearchBudget.CHECK_INTERVAL);
+        }
+        return node;
+    }
+
+    public int[] pathTo(int target) {
+        int hops = 0;
+        for (int at = target; at >= 0; at = predecessor[at]) {
+            hops++;
+        }
+        int[] path = new int[hops];
+        for (int at = target; at >= 0; at = predecessor[at]) {
+            path[--hops] = at;
+        }
+        return path;
+    }
+}
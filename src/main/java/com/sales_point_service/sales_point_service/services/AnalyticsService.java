@@ -0,0 +1,12 @@
+package com.sales_point_service.sales_point_service.services;
+
+import com.sales_point_service.sales_point_service.dtos.HubDTO;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public interface AnalyticsService {
+    void computeCentrality();
+
+    ResponseEntity<List<HubDTO>> getHubs(int limit);
+}
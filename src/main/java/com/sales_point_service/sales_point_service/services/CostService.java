@@ -1,11 +1,26 @@
 package com.sales_point_service.sales_point_service.services;
 
+import com.sales_point_service.sales_point_service.dtos.BackboneDTO;
+import com.sales_point_service.sales_point_service.dtos.ConnectivityDTO;
 import com.sales_point_service.sales_point_service.dtos.CostDTO;
+import com.sales_point_service.sales_point_service.dtos.CostMatrixDTO;
+import com.sales_point_service.sales_point_service.dtos.CostMatrixRequest;
 import com.sales_point_service.sales_point_service.dtos.CreateCostRequest;
+import com.sales_point_service.sales_point_service.dtos.DistanceEstimateDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfRequest;
+import com.sales_point_service.sales_point_service.dtos.NearestSalePointDTO;
 import com.sales_point_service.sales_point_service.dtos.ShortestPathDTO;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathOptions;
+import com.sales_point_service.sales_point_service.dtos.TourDTO;
+import com.sales_point_service.sales_point_service.dtos.TourRequest;
+import com.sales_point_service.sales_point_service.dtos.WhatIfRequest;
+import com.sales_point_service.sales_point_service.dtos.WhatIfRouteDTO;
 import com.sales_point_service.sales_point_service.models.Cost;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Set;
 
 public interface CostService {
@@ -19,5 +34,25 @@ public interface CostService {
 
     ResponseEntity<Set<CostDTO>> getDirectConnections(Long originId);
 
-    ResponseEntity<ShortestPathDTO> getShortestPath(Long origin, Long destination);
+    ResponseEntity<ShortestPathDTO> getShortestPath(Long origin, Long destination, ShortestPathOptions options);
+
+    ResponseEntity<ConnectivityDTO> isConnected(Long origin, Long destination);
+
+    ResponseEntity<DistanceEstimateDTO> getDistanceEstimate(Long origin, Long destination);
+
+    ResponseEntity<List<ShortestPathDTO>> getKShortestPaths(Long origin, Long destination, int k);
+
+    ResponseEntity<List<NearestSalePointDTO>> getNearestSalePoints(Long origin, int k);
+
+    ResponseEntity<NearestOfDTO> getNearestOf(NearestOfRequest request);
+
+    ResponseEntity<CostMatrixDTO> getCostMatrix(CostMatrixRequest request);
+
+    ResponseEntity<TourDTO> getTour(TourRequest request);
+
+    ResponseEntity<List<WhatIfRouteDTO>> evaluateWhatIf(WhatIfRequest request);
+
+    ResponseEntity<BackboneDTO> getBackbone();
+
+    ResponseEntity<StreamingResponseBody> getReachableSalePoints(Long origin, Double maxCost, boolean includePredecessor);
 }
@@ -0,0 +1,132 @@
+package com.sales_point_service.sales_point_service.services.implementations;
+
+import com.sales_point_service.sales_point_service.cache.CacheManagerFactory;
+import com.sales_point_service.sales_point_service.cache.interfaces.CacheManager;
+import com.sales_point_service.sales_point_service.dtos.CentralityResult;
+import com.sales_point_service.sales_point_service.dtos.HubDTO;
+import com.sales_point_service.sales_point_service.enums.CacheType;
+import com.sales_point_service.sales_point_service.exceptions.SalePointException;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.models.Cost;
+import com.sales_point_service.sales_point_service.models.CostId;
+import com.sales_point_service.sales_point_service.repositories.CostRepository;
+import com.sales_point_service.sales_point_service.routing.CentralityAnalyzer;
+import com.sales_point_service.sales_point_service.services.AnalyticsService;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class AnalyticsServiceImplementation implements AnalyticsService {
+
+    private final CostRepository costRepository;
+
+    private final CacheManagerFactory cacheManagerFactory;
+
+    private final CentralityAnalyzer centralityAnalyzer;
+
+    private final Timer durationTimer;
+
+    private final int sampleSources;
+
+    private final AtomicInteger processedSources = new AtomicInteger();
+
+    private volatile int totalSources;
+
+    private volatile CentralityResult latest;
+
+    public AnalyticsServiceImplementation(CostRepository costRepository,
+                                          CacheManagerFactory cacheManagerFactory,
+                                          CentralityAnalyzer centralityAnalyzer,
+                                          MeterRegistry meterRegistry,
+                                          @Value("${analytics.centrality.sample-sources:0}") int sampleSources) {
+        this.costRepository = costRepository;
+        this.cacheManagerFactory = cacheManagerFactory;
+        this.centralityAnalyzer = centralityAnalyzer;
+        this.sampleSources = sampleSources;
+        this.durationTimer = Timer.builder("analytics.centrality.duration")
+                .description("Time spent computing betweenness and closeness centrality")
+                .register(meterRegistry);
+        Gauge.builder("analytics.centrality.progress", this, AnalyticsServiceImplementation::progress)
+                .description("Fraction of sources processed by the running centrality job")
+                .register(meterRegistry);
+    }
+
+    private double progress() {
+        int total = totalSources;
+        return total == 0 ? 1.0 : Math.min(1.0, (double) processedSources.get() / total);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${analytics.centrality.interval-ms:600000}",
+            initialDelayString = "${analytics.centrality.initial-delay-ms:60000}")
+    public void computeCentrality() {
+        CacheManager<CostId, Cost> costCache = cacheManagerFactory.getCacheManager(CacheType.COST);
+        if (costCache.isEmpty()) {
+            costCache.bulkLoad(Set.copyOf(costRepository.findAll()));
+        }
+        CostGraph graph = costCache.getGraphSnapshot();
+
+        CentralityResult current = latest;
+        if (current != null && current.graph() == graph) {
+            log.info(Constants.CENTRALITY_UP_TO_DATE, graph.version());
+            return;
+        }
+
+        int sources = sampleSources > 0 ? Math.min(sampleSources, graph.nodeCount()) : graph.nodeCount();
+        log.info(Constants.COMPUTING_CENTRALITY, graph.nodeCount(), sources);
+        processedSources.set(0);
+        totalSources = sources;
+
+        long start = System.nanoTime();
+        CentralityResult result = centralityAnalyzer.compute(graph, sampleSources, graph.version(), processedSources);
+        long elapsed = System.nanoTime() - start;
+        durationTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        latest = result;
+        log.info(Constants.CENTRALITY_COMPUTED_SUCCESSFULLY, graph.nodeCount(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    @Override
+    public ResponseEntity<List<HubDTO>> getHubs(int limit) {
+        log.info(Constants.GET_HUBS, limit);
+        if (limit < 1) {
+            throw new SalePointException(Constants.HUBS_LIMIT_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        CentralityResult result = latest;
+        if (result == null) {
+            throw new SalePointException(Constants.HUBS_NOT_READY, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        CostGraph graph = result.graph();
+        CacheManager<CostId, Cost> costCache = cacheManagerFactory.getCacheManager(CacheType.COST);
+        List<HubDTO> hubs = new ArrayList<>(graph.nodeCount());
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            double closeness = result.closeness()[node];
+            Long id = graph.nodeId(node);
+            hubs.add(new HubDTO(id, costCache.getSalePointName(id), result.betweenness()[node],
+                    Double.isNaN(closeness) ? null : closeness));
+        }
+        hubs.sort(Comparator.comparing(HubDTO::betweenness).reversed().thenComparing(HubDTO::id));
+        List<HubDTO> top = List.copyOf(hubs.subList(0, Math.min(limit, hubs.size())));
+
+        log.info(Constants.GET_HUBS_SUCCESSFULLY, top.size());
+        return ResponseEntity.ok(top);
+    }
+}
@@ -1,26 +1,56 @@
 package com.sales_point_service.sales_point_service.services.implementations;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sales_point_service.sales_point_service.cache.interfaces.CacheManager;
 import com.sales_point_service.sales_point_service.cache.CacheManagerFactory;
 import com.sales_point_service.sales_point_service.dtos.*;
 import com.sales_point_service.sales_point_service.enums.CacheType;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
 import com.sales_point_service.sales_point_service.exceptions.CostException;
 import com.sales_point_service.sales_point_service.exceptions.SalePointException;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
 import com.sales_point_service.sales_point_service.models.Cost;
 import com.sales_point_service.sales_point_service.models.CostId;
 import com.sales_point_service.sales_point_service.repositories.CostRepository;
+import com.sales_point_service.sales_point_service.routing.BackboneCalculator;
+import com.sales_point_service.sales_point_service.routing.ConnectedComponentsIndex;
+import com.sales_point_service.sales_point_service.routing.CostMatrixCalculator;
+import com.sales_point_service.sales_point_service.routing.HopLimitedPathFinder;
+import com.sales_point_service.sales_point_service.routing.KShortestPathsFinder;
+import com.sales_point_service.sales_point_service.routing.OneToAllSearch;
+import com.sales_point_service.sales_point_service.routing.RoutingEngineSelector;
+import com.sales_point_service.sales_point_service.routing.ShortestPathResultCache;
+import com.sales_point_service.sales_point_service.routing.ShortestPathTreeCache;
+import com.sales_point_service.sales_point_service.routing.TourOptimizer;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkIndex;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkPreprocessor;
+import com.sales_point_service.sales_point_service.routing.search.CostOverlay;
+import com.sales_point_service.sales_point_service.routing.search.SearchAbortedException;
+import com.sales_point_service.sales_point_service.routing.search.SearchBudget;
+import com.sales_point_service.sales_point_service.routing.search.SearchMask;
+import com.sales_point_service.sales_point_service.routing.search.SearchWorkspace;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
 import com.sales_point_service.sales_point_service.services.CostService;
 import com.sales_point_service.sales_point_service.utils.Constants;
 import com.sales_point_service.sales_point_service.utils.CostUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +64,58 @@ public class CostServiceImplementation implements CostService {
 
     private final CacheManagerFactory cacheManagerFactory;
 
+    private final RoutingEngineSelector routingEngineSelector;
+
+    private final ShortestPathResultCache shortestPathResultCache;
+
+    private final ShortestPathTreeCache shortestPathTreeCache;
+
+    private final ConnectedComponentsIndex connectedComponentsIndex;
+
+    private final LandmarkPreprocessor landmarkPreprocessor;
+
+    private final CostMatrixCalculator costMatrixCalculator;
+
+    private final DijkstraRoutingEngine dijkstraRoutingEngine;
+
+    private final OneToAllSearch oneToAllSearch;
+
+    private final KShortestPathsFinder kShortestPathsFinder;
+
+    private final HopLimitedPathFinder hopLimitedPathFinder;
+
+    private final TourOptimizer tourOptimizer;
+
+    private final BackboneCalculator backboneCalculator;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${routing.k-shortest.max-k:10}")
+    private int maxAlternativePaths;
+
+    @Value("${routing.nearest.max-k:100}")
+    private int maxNearestSalePoints;
+
+    @Value("${routing.cost-matrix.max-cells:250000}")
+    private int costMatrixMaxCells;
+
+    @Value("${routing.tour.max-stops:200}")
+    private int maxTourStops;
+
+    @Value("${routing.tour.time-budget-ms:2000}")
+    private long tourTimeBudgetMs;
+
+    @Value("${routing.query.deadline-ms:0}")
+    private long queryDeadlineMs;
+
+    @Value("${routing.query.max-settled:0}")
+    private long queryMaxSettled;
+
+    @Value("${routing.what-if.max-queries:100}")
+    private int maxWhatIfQueries;
+
     private CacheManager<CostId, Cost> getCostCache() {
         return cacheManagerFactory.getCacheManager(CacheType.COST);
     }
@@ -146,27 +228,20 @@ public class CostServiceImplementation implements CostService {
             costCache.bulkLoad(Set.copyOf(costRepository.findAll()));
         }
 
-        Map<Long, Map<Long, Double>> graph = costCache.getGraph();
-        Map<Long, Double> neighbors = graph.get(originId);
+        CostGraph graph = costCache.getGraphSnapshot();
+        int originIndex = graph.indexOf(originId);
 
-        if (neighbors == null || neighbors.isEmpty()) {
+        if (originIndex < 0 || graph.degree(originIndex) == 0) {
             log.warn(Constants.NOT_DIRECT_CONNECTIONS);
             throw new CostException(Constants.NOT_DIRECT_CONNECTIONS, HttpStatus.NOT_FOUND);
         }
 
-        Set<CostDTO> result = neighbors.entrySet().stream()
-                .map(entry -> {
-                    Long toId = entry.getKey();
-                    Double cost = entry.getValue();
-                    return new CostDTO(
-                            originId,
-                            costCache.getSalePointName(originId),
-                            toId,
-                            costCache.getSalePointName(toId),
-                            cost
-                    );
-                })
-                .collect(Collectors.toSet());
+        String originName = costCache.getSalePointName(originId);
+        Set<CostDTO> result = new HashSet<>();
+        for (int edge = graph.firstEdge(originIndex); edge < graph.endEdge(originIndex); edge++) {
+            Long toId = graph.nodeId(graph.target(edge));
+            result.add(new CostDTO(originId, originName, toId, costCache.getSalePointName(toId), graph.weight(edge)));
+        }
 
         log.info(Constants.GET_DIRECT_CONNECTIONS_SUCCESSFULLY);
         return ResponseEntity.ok(result);
@@ -174,50 +249,491 @@ public class CostServiceImplementation implements CostService {
 
 
     @Override
-    @SuppressWarnings("unchecked")
-    public ResponseEntity<ShortestPathDTO> getShortestPath(Long origin, Long destination) {
+    public ResponseEntity<ShortestPathDTO> getShortestPath(Long origin, Long destination, ShortestPathOptions options) {
+        if (options.deadlineMs() != null && options.deadlineMs() <= 0) {
+            throw new CostException(Constants.QUERY_DEADLINE_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        long timeoutMs = options.deadlineMs() == null ? queryDeadlineMs
+                : queryDeadlineMs > 0 ? Math.min(options.deadlineMs(), queryDeadlineMs) : options.deadlineMs();
+
+        try (SearchBudget.Scope ignored = SearchBudget.of(timeoutMs, queryMaxSettled).activate()) {
+            return options.isConstrained()
+                    ? getConstrainedShortestPath(origin, destination, options)
+                    : getUnconstrainedShortestPath(origin, destination, options.engine());
+        } catch (SearchAbortedException e) {
+            log.warn(Constants.SHORTEST_PATH_ABORTED, origin, destination, e.getReason(), e.getSettledNodes());
+            meterRegistry.counter("routing.query.aborted", "reason", e.getReason().name()).increment();
+            if (e.getReason() == SearchAbortedException.Reason.DEADLINE) {
+                throw new CostException(Constants.QUERY_DEADLINE_EXCEEDED, HttpStatus.GATEWAY_TIMEOUT);
+            }
+            throw new CostException(Constants.QUERY_BUDGET_EXCEEDED, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private ResponseEntity<ShortestPathDTO> getUnconstrainedShortestPath(Long origin, Long destination, RoutingAlgorithm engine) {
         log.info(Constants.GET_SHORTEST_PATH);
         CacheManager<CostId, Cost> costCache = getCostCache();
 
-        if (costCache.isEmpty()) {
-            log.info(Constants.POPULATING_CACHE_FROM_REPOSITORY);
-            costCache.bulkLoad(Set.copyOf(costRepository.findAll()));
+        CostGraph costGraph = loadCostGraph(costCache);
+        int originIndex = requireNode(costGraph, origin, true);
+        int destinationIndex = requireNode(costGraph, destination, false);
+
+        if (connectedComponentsIndex.isKnownDisconnected(costGraph, origin, destination)) {
+            log.warn(Constants.DIFFERENT_COMPONENTS, origin, destination);
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
         }
 
-        Map<Long, Map<Long, Double>> costGraph = costCache.getGraph();
+        Timer.Sample querySample = Timer.start(meterRegistry);
+        ShortestPathResult result = engine == null
+                ? shortestPathResultCache.get(costGraph, originIndex, destinationIndex) : null;
+        String engineName = "RESULT_CACHE";
+        if (result == null) {
+            result = engine == null
+                    ? shortestPathTreeCache.shortestPath(costGraph, originIndex, destinationIndex) : null;
+            engineName = "SHORTEST_PATH_TREE";
+            if (result == null) {
+                RoutingEngine routingEngine = routingEngineSelector.select(costGraph, engine);
+                result = routingEngine.shortestPath(costGraph, originIndex, destinationIndex);
+                engineName = routingEngine.algorithm().name();
+            }
+            if (engine == null) {
+                shortestPathResultCache.put(costGraph, originIndex, destinationIndex, result);
+            }
+        }
+        querySample.stop(meterRegistry.timer("routing.query", "engine", engineName));
 
-        if (!costGraph.containsKey(origin)) {
-            log.warn(Constants.SOURCE_NODE_NOT_FOUND, origin);
-            throw new CostException(Constants.SALE_POINTS_NOT_CONNECTED + " (Source node not found in the graph)", HttpStatus.NOT_FOUND);
+        if (!result.found()) {
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        List<SalePointPathItem> fullPath = toPathItems(costGraph, result.path(), costCache);
+
+        log.info(Constants.GET_SHORTEST_PATH_SUCCESSFULLY);
+
+        ShortestPathDTO response = new ShortestPathDTO(fullPath, result.cost());
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    private ResponseEntity<ShortestPathDTO> getConstrainedShortestPath(Long origin, Long destination, ShortestPathOptions options) {
+        log.info(Constants.GET_CONSTRAINED_SHORTEST_PATH, options.avoidNodes().size(), options.avoidEdges().size(), options.maxHops());
+
+        if (options.maxHops() != null && options.maxHops() < 1) {
+            throw new CostException(Constants.MAX_HOPS_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
         }
-        if (!costGraph.containsKey(destination)) {
-            log.warn(Constants.DESTINATION_NODE_NOT_FOUND, destination);
-            throw new CostException(Constants.SALE_POINTS_NOT_CONNECTED + " (Destination node not found in the graph)", HttpStatus.NOT_FOUND);
+        if (options.avoidNodes().contains(origin) || options.avoidNodes().contains(destination)) {
+            throw new CostException(Constants.AVOID_ENDPOINT, HttpStatus.BAD_REQUEST);
         }
 
-        Map<String, Object> result = costUtils.calculateShortestPath(origin, destination, costGraph);
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int originIndex = requireNode(costGraph, origin, true);
+        int destinationIndex = requireNode(costGraph, destination, false);
+        SearchMask mask = toSearchMask(costGraph, options);
+
+        if (connectedComponentsIndex.isKnownDisconnected(costGraph, origin, destination)) {
+            log.warn(Constants.DIFFERENT_COMPONENTS, origin, destination);
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
 
-        List<Long> pathIds = (List<Long>) result.get("path");
-        Double totalCost = (Double) result.get("cost");
+        Timer.Sample querySample = Timer.start(meterRegistry);
+        ShortestPathResult result = options.maxHops() == null || options.maxHops() >= costGraph.nodeCount() - 1
+                ? dijkstraRoutingEngine.shortestPath(costGraph, originIndex, destinationIndex, mask)
+                : hopLimitedPathFinder.find(costGraph, originIndex, destinationIndex, options.maxHops(), mask);
+        querySample.stop(meterRegistry.timer("routing.query", "engine", "CONSTRAINED"));
 
-        if (pathIds == null || pathIds.isEmpty()) {
-            throw new CostException(Constants.SALE_POINTS_NOT_CONNECTED + " (Empty road)", HttpStatus.NOT_FOUND);
+        if (!result.found()) {
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
         }
 
-        List<SalePointPathItem> fullPath = pathIds.stream()
-                .map(id -> {
-                    String salePointName = getCostCache().getSalePointName(id);
-                    if (salePointName.startsWith("Unknown SP ID:")) {
-                        log.error(Constants.SALE_POINTS_NOT_FOUND + id);
-                        throw new SalePointException(Constants.SALE_POINTS_NOT_FOUND + id, HttpStatus.INTERNAL_SERVER_ERROR);
-                    }
-                    return new SalePointPathItem(id, salePointName);
-                })
+        log.info(Constants.GET_SHORTEST_PATH_SUCCESSFULLY);
+        return ResponseEntity.ok(new ShortestPathDTO(toPathItems(costGraph, result.path(), costCache), result.cost()));
+    }
+
+    private SearchMask toSearchMask(CostGraph costGraph, ShortestPathOptions options) {
+        SearchMask mask = new SearchMask();
+        for (Long id : options.avoidNodes()) {
+            int node = id == null ? -1 : costGraph.indexOf(id);
+            if (node >= 0) mask.blockNode(node);
+        }
+        for (String link : options.avoidEdges()) {
+            String[] ends = link.split("-");
+            int from;
+            int to;
+            try {
+                if (ends.length != 2) throw new NumberFormatException(link);
+                from = costGraph.indexOf(Long.parseLong(ends[0].trim()));
+                to = costGraph.indexOf(Long.parseLong(ends[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new CostException(Constants.AVOID_EDGE_INVALID, HttpStatus.BAD_REQUEST);
+            }
+            if (from < 0 || to < 0) continue;
+            int forward = costGraph.edgeBetween(from, to);
+            int backward = costGraph.edgeBetween(to, from);
+            if (forward >= 0) mask.blockEdge(forward);
+            if (backward >= 0) mask.blockEdge(backward);
+        }
+        return mask;
+    }
+
+    @Override
+    public ResponseEntity<ConnectivityDTO> isConnected(Long origin, Long destination) {
+        log.info(Constants.CHECKING_CONNECTIVITY, origin, destination);
+
+        CostGraph costGraph = loadCostGraph(getCostCache());
+        boolean connected = connectedComponentsIndex.connected(costGraph, origin, destination);
+
+        return ResponseEntity.ok(new ConnectivityDTO(origin, destination, connected));
+    }
+
+    @Override
+    public ResponseEntity<DistanceEstimateDTO> getDistanceEstimate(Long origin, Long destination) {
+        CostGraph costGraph = loadCostGraph(getCostCache());
+        int originIndex = requireNode(costGraph, origin, true);
+        int destinationIndex = requireNode(costGraph, destination, false);
+
+        LandmarkIndex index = landmarkPreprocessor.getIfFresh(costGraph);
+        if (index == null) {
+            meterRegistry.counter("routing.estimate", "result", "not_ready").increment();
+            throw new CostException(Constants.ESTIMATE_NOT_READY, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+
+        double lowerBound = index.lowerBound(originIndex, destinationIndex);
+        if (lowerBound == Double.POSITIVE_INFINITY || connectedComponentsIndex.isKnownDisconnected(costGraph, origin, destination)) {
+            meterRegistry.counter("routing.estimate", "result", "unreachable").increment();
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        double upperBound = originIndex == destinationIndex ? 0.0 : index.upperBound(originIndex, destinationIndex);
+        if (upperBound == Double.POSITIVE_INFINITY) {
+            meterRegistry.counter("routing.estimate", "result", "lower_bound_only").increment();
+            return ResponseEntity.ok(new DistanceEstimateDTO(origin, destination, lowerBound, lowerBound, null, null, null, true));
+        }
+
+        double maxError = upperBound - lowerBound;
+        Double observedStretch = null;
+        if (upperBound == 0.0) observedStretch = 1.0;
+        else if (lowerBound > 0.0) observedStretch = upperBound / lowerBound;
+        meterRegistry.counter("routing.estimate", "result", "estimated").increment();
+        return ResponseEntity.ok(new DistanceEstimateDTO(origin, destination, upperBound, lowerBound, upperBound, maxError, observedStretch, false));
+    }
+
+    @Override
+    public ResponseEntity<List<ShortestPathDTO>> getKShortestPaths(Long origin, Long destination, int k) {
+        log.info(Constants.GET_K_SHORTEST_PATHS, k);
+
+        if (k < 1 || k > maxAlternativePaths) {
+            log.warn(Constants.K_OUT_OF_RANGE + " Value: {}", k);
+            throw new CostException(Constants.K_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int originIndex = requireNode(costGraph, origin, true);
+        int destinationIndex = requireNode(costGraph, destination, false);
+
+        Timer.Sample querySample = Timer.start(meterRegistry);
+        List<ShortestPathResult> results = kShortestPathsFinder.find(costGraph, originIndex, destinationIndex, k);
+        querySample.stop(meterRegistry.timer("routing.k.shortest"));
+
+        if (results.isEmpty()) {
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        List<ShortestPathDTO> response = results.stream()
+                .map(result -> new ShortestPathDTO(toPathItems(costGraph, result.path(), costCache), result.cost()))
                 .toList();
 
-        log.info(Constants.GET_SHORTEST_PATH_SUCCESSFULLY);
+        log.info(Constants.GET_K_SHORTEST_PATHS_SUCCESSFULLY, response.size());
+        return ResponseEntity.ok(response);
+    }
 
-        ShortestPathDTO response = new ShortestPathDTO(fullPath, totalCost);
-        return new ResponseEntity<>(response, HttpStatus.OK);
+    @Override
+    public ResponseEntity<List<NearestSalePointDTO>> getNearestSalePoints(Long origin, int k) {
+        log.info(Constants.GET_NEAREST_SALE_POINTS, k, origin);
+
+        if (k < 1 || k > maxNearestSalePoints) {
+            log.warn(Constants.K_OUT_OF_RANGE + " Value: {}", k);
+            throw new CostException(Constants.K_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int originIndex = requireNode(costGraph, origin, true);
+
+        List<NearestSalePointDTO> nearest = new ArrayList<>(k);
+        dijkstraRoutingEngine.searchNearest(costGraph, originIndex, k, (node, distance, predecessor) -> {
+            Long id = costGraph.nodeId(node);
+            nearest.add(new NearestSalePointDTO(id, costCache.getSalePointName(id), distance));
+        });
+
+        log.info(Constants.GET_NEAREST_SALE_POINTS_SUCCESSFULLY, nearest.size());
+        return ResponseEntity.ok(nearest);
+    }
+
+    @Override
+    public ResponseEntity<NearestOfDTO> getNearestOf(NearestOfRequest request) {
+        log.info(Constants.GET_NEAREST_OF, request.candidates() == null ? 0 : request.candidates().size());
+
+        boolean reverse = request.origin() == null;
+        if (reverse == (request.target() == null) || request.candidates() == null || request.candidates().isEmpty()) {
+            throw new CostException(Constants.NEAREST_OF_INVALID, HttpStatus.BAD_REQUEST);
+        }
+        int runnersUp = request.runnersUp() == null ? 3 : request.runnersUp();
+        if (runnersUp < 0 || runnersUp >= maxNearestSalePoints) {
+            log.warn(Constants.RUNNERS_UP_OUT_OF_RANGE + " Value: {}", runnersUp);
+            throw new CostException(Constants.RUNNERS_UP_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int endpoint = reverse ? requireNode(costGraph, request.target(), false) : requireNode(costGraph, request.origin(), true);
+
+        BitSet candidates = new BitSet(costGraph.nodeCount());
+        for (Long candidateId : request.candidates()) {
+            int candidate = candidateId == null ? -1 : costGraph.indexOf(candidateId);
+            if (candidate >= 0) candidates.set(candidate);
+        }
+        int wanted = Math.min(candidates.cardinality(), 1 + runnersUp);
+
+        List<Integer> settled = new ArrayList<>(wanted);
+        List<NearestSalePointDTO> ranked = new ArrayList<>(wanted);
+        SearchWorkspace workspace = dijkstraRoutingEngine.searchToTargets(costGraph, endpoint, candidates, wanted, (node, distance, predecessor) -> {
+            Long id = costGraph.nodeId(node);
+            settled.add(node);
+            ranked.add(new NearestSalePointDTO(id, costCache.getSalePointName(id), distance));
+        });
+
+        if (settled.isEmpty()) {
+            throw new CostException(Constants.PATH_NOT_FOUND, HttpStatus.NOT_FOUND);
+        }
+
+        int[] path = workspace.pathTo(settled.get(0));
+        if (reverse) {
+            for (int i = 0, j = path.length - 1; i < j; i++, j--) {
+                int swap = path[i];
+                path[i] = path[j];
+                path[j] = swap;
+            }
+        }
+
+        NearestSalePointDTO winner = ranked.get(0);
+        log.info(Constants.GET_NEAREST_OF_SUCCESSFULLY, winner.id(), winner.cost());
+        return ResponseEntity.ok(new NearestOfDTO(winner.id(), winner.name(), winner.cost(),
+                toPathItems(costGraph, path, costCache), ranked.subList(1, ranked.size())));
+    }
+
+    @Override
+    public ResponseEntity<CostMatrixDTO> getCostMatrix(CostMatrixRequest request) {
+        log.info(Constants.GET_COST_MATRIX);
+
+        if (request.sources() == null || request.sources().isEmpty() || request.targets() == null || request.targets().isEmpty()) {
+            throw new CostException(Constants.COST_MATRIX_EMPTY, HttpStatus.BAD_REQUEST);
+        }
+        if ((long) request.sources().size() * request.targets().size() > costMatrixMaxCells) {
+            log.warn(Constants.COST_MATRIX_TOO_LARGE + " Size: {}x{}", request.sources().size(), request.targets().size());
+            throw new CostException(Constants.COST_MATRIX_TOO_LARGE, HttpStatus.BAD_REQUEST);
+        }
+
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int[] sources = request.sources().stream().mapToInt(id -> requireNode(costGraph, id, true)).toArray();
+        int[] targets = request.targets().stream().mapToInt(id -> requireNode(costGraph, id, false)).toArray();
+        boolean includePaths = Boolean.TRUE.equals(request.includePaths());
+
+        Timer.Sample matrixSample = Timer.start(meterRegistry);
+        CostMatrixResult result = costMatrixCalculator.compute(costGraph, sources, targets, includePaths);
+        matrixSample.stop(meterRegistry.timer("routing.cost.matrix"));
+
+        List<List<Double>> costs = new ArrayList<>(sources.length);
+        List<List<List<SalePointPathItem>>> paths = includePaths ? new ArrayList<>(sources.length) : null;
+        for (int i = 0; i < sources.length; i++) {
+            List<Double> row = new ArrayList<>(targets.length);
+            List<List<SalePointPathItem>> pathRow = includePaths ? new ArrayList<>(targets.length) : null;
+            for (int j = 0; j < targets.length; j++) {
+                double cost = result.costs()[i][j];
+                row.add(cost == Double.POSITIVE_INFINITY ? null : cost);
+                if (includePaths) {
+                    pathRow.add(toPathItems(costGraph, result.paths()[i][j], costCache));
+                }
+            }
+            costs.add(row);
+            if (includePaths) paths.add(pathRow);
+        }
+
+        log.info(Constants.GET_COST_MATRIX_SUCCESSFULLY);
+        return ResponseEntity.ok(new CostMatrixDTO(request.sources(), request.targets(), costs, paths));
+    }
+
+    @Override
+    public ResponseEntity<TourDTO> getTour(TourRequest request) {
+        List<Long> stopIds = request.stops() == null ? List.of() : request.stops().stream().distinct().toList();
+        log.info(Constants.OPTIMIZING_TOUR, stopIds.size());
+
+        if (stopIds.size() < 2 || stopIds.size() > maxTourStops) {
+            throw new CostException(Constants.TOUR_STOPS_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        long start = System.nanoTime();
+        long budgetMs = request.timeBudgetMs() == null ? tourTimeBudgetMs : Math.min(Math.max(0, request.timeBudgetMs()), tourTimeBudgetMs);
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int[] stops = stopIds.stream().mapToInt(id -> requireNode(costGraph, id, true)).toArray();
+
+        CostMatrixResult matrix = costMatrixCalculator.compute(costGraph, stops, stops, true);
+        for (double cost : matrix.costs()[0]) {
+            if (cost == Double.POSITIVE_INFINITY) {
+                throw new CostException(Constants.TOUR_STOPS_NOT_CONNECTED, HttpStatus.NOT_FOUND);
+            }
+        }
+
+        boolean closed = !Boolean.FALSE.equals(request.returnToStart());
+        long seed = request.seed() == null ? 0L : request.seed();
+        int[] order = tourOptimizer.optimize(matrix.costs(), closed, seed, start + budgetMs * 1_000_000);
+
+        List<ShortestPathDTO> legs = new ArrayList<>(order.length);
+        int legCount = closed ? order.length : order.length - 1;
+        for (int i = 0; i < legCount; i++) {
+            int from = order[i];
+            int to = order[(i + 1) % order.length];
+            legs.add(new ShortestPathDTO(toPathItems(costGraph, matrix.paths()[from][to], costCache), matrix.costs()[from][to]));
+        }
+        double totalCost = TourOptimizer.length(matrix.costs(), order, closed);
+        meterRegistry.timer("routing.tour").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        log.info(Constants.TOUR_OPTIMIZED_SUCCESSFULLY, order.length, totalCost, (System.nanoTime() - start) / 1_000_000);
+        List<Long> orderedIds = Arrays.stream(order).mapToObj(stopIds::get).toList();
+        return ResponseEntity.ok(new TourDTO(orderedIds, legs, totalCost));
+    }
+
+    @Override
+    public ResponseEntity<BackboneDTO> getBackbone() {
+        log.info(Constants.GET_BACKBONE);
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+
+        BackboneCalculator.Backbone backbone = backboneCalculator.backbone(costGraph);
+        List<CostDTO> links = new ArrayList<>(backbone.edges().length);
+        for (int i = 0; i < backbone.edges().length; i++) {
+            Long fromId = costGraph.nodeId(backbone.sources()[i]);
+            Long toId = costGraph.nodeId(costGraph.target(backbone.edges()[i]));
+            links.add(new CostDTO(fromId, costCache.getSalePointName(fromId), toId, costCache.getSalePointName(toId), costGraph.weight(backbone.edges()[i])));
+        }
+
+        log.info(Constants.GET_BACKBONE_SUCCESSFULLY, links.size(), backbone.components());
+        return ResponseEntity.ok(new BackboneDTO(links, backbone.totalCost(), backbone.components()));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> getReachableSalePoints(Long origin, Double maxCost, boolean includePredecessor) {
+        log.info(Constants.GET_REACHABLE_SALE_POINTS, origin, maxCost);
+
+        if (!(maxCost >= 0)) {
+            throw new CostException(Constants.MAX_COST_NOT_NEGATIVE, HttpStatus.BAD_REQUEST);
+        }
+
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        int originIndex = requireNode(costGraph, origin, true);
+
+        StreamingResponseBody body = outputStream -> {
+            int[] streamed = new int[1];
+            try {
+                oneToAllSearch.searchWithinBudget(costGraph, originIndex, maxCost, (node, distance, predecessor) -> {
+                    Long id = costGraph.nodeId(node);
+                    Long predecessorId = includePredecessor && predecessor >= 0 ? costGraph.nodeId(predecessor) : null;
+                    ReachableSalePointDTO reachable = new ReachableSalePointDTO(id, costCache.getSalePointName(id), distance, predecessorId);
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(reachable));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    streamed[0]++;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            log.info(Constants.GET_REACHABLE_SALE_POINTS_SUCCESSFULLY, streamed[0]);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @Override
+    public ResponseEntity<List<WhatIfRouteDTO>> evaluateWhatIf(WhatIfRequest request) {
+        List<CreateCostRequest> overrides = request.overrides() == null ? List.of() : request.overrides();
+        List<RouteQuery> queries = request.queries() == null ? List.of() : request.queries();
+        log.info(Constants.EVALUATING_WHAT_IF, queries.size(), overrides.size());
+
+        if (queries.isEmpty() || queries.size() > maxWhatIfQueries) {
+            throw new CostException(Constants.WHAT_IF_QUERIES_OUT_OF_RANGE, HttpStatus.BAD_REQUEST);
+        }
+
+        CacheManager<CostId, Cost> costCache = getCostCache();
+        CostGraph costGraph = loadCostGraph(costCache);
+        CostOverlay overlay = new CostOverlay(costGraph);
+        for (CreateCostRequest override : overrides) {
+            if (override.cost() != null && override.cost() < 0) {
+                throw new CostException(Constants.COST_NOT_NEGATIVE, HttpStatus.BAD_REQUEST);
+            }
+            overlay.put(requireNode(costGraph, override.from(), true), requireNode(costGraph, override.to(), false), override.cost());
+        }
+
+        List<WhatIfRouteDTO> routes = new ArrayList<>(queries.size());
+        int changed = 0;
+        for (RouteQuery query : queries) {
+            int originIndex = requireNode(costGraph, query.from(), true);
+            int destinationIndex = requireNode(costGraph, query.to(), false);
+
+            ShortestPathResult current = dijkstraRoutingEngine.shortestPath(costGraph, originIndex, destinationIndex);
+            ShortestPathResult proposed = dijkstraRoutingEngine.shortestPath(overlay, originIndex, destinationIndex);
+            ShortestPathDTO currentPath = current.found() ? new ShortestPathDTO(toPathItems(costGraph, current.path(), costCache), current.cost()) : null;
+            ShortestPathDTO proposedPath = proposed.found() ? new ShortestPathDTO(toPathItems(costGraph, proposed.path(), costCache), proposed.cost()) : null;
+            Double costDelta = current.found() && proposed.found() ? proposed.cost() - current.cost() : null;
+
+            if (current.found() != proposed.found() || !Arrays.equals(current.path(), proposed.path()) || current.cost() != proposed.cost()) {
+                changed++;
+            }
+            routes.add(new WhatIfRouteDTO(query.from(), query.to(), currentPath, proposedPath, costDelta));
+        }
+
+        log.info(Constants.WHAT_IF_EVALUATED_SUCCESSFULLY, routes.size(), changed);
+        return ResponseEntity.ok(routes);
+    }
+
+    private CostGraph loadCostGraph(CacheManager<CostId, Cost> costCache) {
+        if (costCache.isEmpty()) {
+            log.info(Constants.POPULATING_CACHE_FROM_REPOSITORY);
+            costCache.bulkLoad(Set.copyOf(costRepository.findAll()));
+        }
+        return costCache.getGraphSnapshot();
+    }
+
+    private int requireNode(CostGraph costGraph, Long id, boolean source) {
+        int index = id == null ? -1 : costGraph.indexOf(id);
+        if (index >= 0) return index;
+
+        if (source) {
+            log.warn(Constants.SOURCE_NODE_NOT_FOUND, id);
+            throw new CostException(Constants.SALE_POINTS_NOT_CONNECTED + " (Source node not found in the graph)", HttpStatus.NOT_FOUND);
+        }
+        log.warn(Constants.DESTINATION_NODE_NOT_FOUND, id);
+        throw new CostException(Constants.SALE_POINTS_NOT_CONNECTED + " (Destination node not found in the graph)", HttpStatus.NOT_FOUND);
+    }
+
+    private List<SalePointPathItem> toPathItems(CostGraph graph, int[] path, CacheManager<CostId, Cost> costCache) {
+        List<SalePointPathItem> items = new ArrayList<>(path.length);
+        for (int node : path) {
+            Long id = graph.nodeId(node);
+            String salePointName = costCache.getSalePointName(id);
+            if (salePointName.startsWith("Unknown SP ID:")) {
+                log.error(Constants.SALE_POINTS_NOT_FOUND + id);
+                throw new SalePointException(Constants.SALE_POINTS_NOT_FOUND + id, HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            items.add(new SalePointPathItem(id, salePointName));
+        }
+        return items;
     }
-}
\ No newline at end of file
+}
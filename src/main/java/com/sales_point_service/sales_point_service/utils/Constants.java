@@ -9,6 +9,8 @@ public class Constants {
     public static final String SALE_POINTS_NOT_FOUND="Sale Point not found with ID: ";
     public static final String SALE_POINTS_DELETED="Sale Point removed successfully with ID: ";
     public static final String SALE_POINTS_NAME_NOT_NULL="Name cannot be null";
+    public static final String HUBS_NOT_READY="Centrality analytics have not been computed yet";
+    public static final String HUBS_LIMIT_OUT_OF_RANGE="Limit must be at least 1";
 
     public static final String SAVING_COST="Saving cost: ";
     public static final String COST_SAVED_SUCCESSFULLY="Cost saved successfully";
@@ -21,7 +23,37 @@ public class Constants {
     public static final String GET_DIRECT_CONNECTIONS="Retrieving direct connections";
     public static final String GET_DIRECT_CONNECTIONS_SUCCESSFULLY="Retrieved all direct connections successfully";
     public static final String GET_SHORTEST_PATH="Retrieving shortest path";
+    public static final String GET_CONSTRAINED_SHORTEST_PATH="Retrieving shortest path avoiding {} sale points and {} links with at most {} hops";
+    public static final String EVALUATING_WHAT_IF="Evaluating {} routes under {} cost overrides";
+    public static final String WHAT_IF_EVALUATED_SUCCESSFULLY="Evaluated {} what-if routes, {} changed";
+    public static final String SHORTEST_PATH_ABORTED="Shortest path search from {} to {} aborted by {} after settling {} nodes";
     public static final String GET_SHORTEST_PATH_SUCCESSFULLY="Retrieved shortest path successfully";
+    public static final String CHECKING_CONNECTIVITY="Checking connectivity between {} and {}";
+    public static final String GET_NEAREST_SALE_POINTS="Retrieving {} nearest sale points from {}";
+    public static final String GET_NEAREST_SALE_POINTS_SUCCESSFULLY="Retrieved {} nearest sale points successfully";
+    public static final String GET_NEAREST_OF="Retrieving nearest of {} candidates";
+    public static final String GET_NEAREST_OF_SUCCESSFULLY="Nearest candidate is {} with cost {}";
+    public static final String OPTIMIZING_TOUR="Optimizing tour over {} stops";
+    public static final String TOUR_OPTIMIZED_SUCCESSFULLY="Optimized tour over {} stops with total cost {} in {} ms";
+    public static final String GET_BACKBONE="Retrieving network backbone";
+    public static final String GET_BACKBONE_SUCCESSFULLY="Retrieved network backbone with {} links over {} components";
+    public static final String COMPUTING_CENTRALITY="Computing centrality over {} sale points from {} sources";
+    public static final String CENTRALITY_COMPUTED_SUCCESSFULLY="Computed centrality over {} sale points in {} ms";
+    public static final String CENTRALITY_UP_TO_DATE="Centrality already computed for graph version {}";
+    public static final String GET_HUBS="Retrieving {} top hubs";
+    public static final String GET_HUBS_SUCCESSFULLY="Retrieved {} hubs successfully";
+    public static final String GET_COST_MATRIX="Retrieving cost matrix";
+    public static final String GET_COST_MATRIX_SUCCESSFULLY="Retrieved cost matrix successfully";
+    public static final String GET_K_SHORTEST_PATHS="Retrieving {} shortest paths";
+    public static final String GET_K_SHORTEST_PATHS_SUCCESSFULLY="Retrieved {} shortest paths successfully";
+    public static final String GET_REACHABLE_SALE_POINTS="Streaming sale points reachable from {} within cost {}";
+    public static final String GET_REACHABLE_SALE_POINTS_SUCCESSFULLY="Streamed {} reachable sale points";
+    public static final String ROUTING_SELF_CHECK_STARTED="Checking {} routing engines against Dijkstra on {} pairs";
+    public static final String ROUTING_SELF_CHECK_MISMATCH="Routing engine {} disagrees with Dijkstra from {} to {}: expected {}, got {}";
+    public static final String ROUTING_SELF_CHECK_PASSED="Routing engine {} agrees with Dijkstra on {} pairs";
+    public static final String ROUTING_SELF_CHECK_ENGINE_NOT_READY="Routing engine {} was not ready for graph version {}, skipping self-check";
+    public static final String ROUTING_ENGINE_QUARANTINED="Routing engine {} failed {} of {} self-check queries and will not be selected";
+    public static final String ROUTING_SELF_CHECK_FAILED="Routing engine self-check failed";
 
     public static final String SAVING_SALE_POINT="Saving sale point: ";
     public static final String SALE_POINT_SAVED_SUCCESSFULLY="Sale point saved successfully";
@@ -53,10 +85,35 @@ public class Constants {
     public static final String PERFORMING_BULK_LOAD_IN_CACHE ="Performing bulk load into cost cache with {} items";
     public static final String BULK_LOAD_IN_CACHE_SUCCESSFULLY ="Bulk load completed. Cost cache now has {} items.";
     public static final String GET_COST_GRAPH ="Accessing the cost graph. Main nodes in the graph: {}";
+    public static final String COST_GRAPH_SNAPSHOT_PUBLISHED ="Published cost graph snapshot version {} with {} nodes and {} arcs";
+    public static final String COST_GRAPH_EVENT_FAILED="Failed to deliver change event for cost graph version {}";
+    public static final String COST_GRAPH_EVENTS_RELEASED ="Context refreshed, delivering reload event for cost graph version {}";
     public static final String POPULATING_CACHE_FROM_REPOSITORY ="Empty cost cache, populating from repository";
     public static final String UPDATING_COST ="Updating existing cost for ID: ";
     public static final String POPULATING_CACHE_FOR_GET_DIRECT_CONNECTIONS ="Empty cost cache, populating from repository for getDirectConnections";
     public static final String SOURCE_NODE_NOT_FOUND ="Source node {} not found in cost graph.";
     public static final String DESTINATION_NODE_NOT_FOUND ="Destination node {} not found in cost graph.";
     public static final String PATH_NOT_FOUND="No path found between points";
+    public static final String DIFFERENT_COMPONENTS="Sale points {} and {} are in different connected components";
+    public static final String NEAREST_OF_INVALID="Exactly one of origin or target and at least one candidate must be provided";
+    public static final String TOUR_STOPS_OUT_OF_RANGE="A tour needs at least two distinct stops and at most the configured maximum";
+    public static final String TOUR_STOPS_NOT_CONNECTED="Not every tour stop can be reached from the others";
+    public static final String COST_MATRIX_EMPTY="Sources and targets must not be empty";
+    public static final String MAX_HOPS_OUT_OF_RANGE="maxHops must be at least 1";
+    public static final String AVOID_EDGE_INVALID="Avoided links must be given as fromId-toId";
+    public static final String AVOID_ENDPOINT="The origin and destination cannot be avoided";
+    public static final String WHAT_IF_QUERIES_OUT_OF_RANGE="A what-if request needs at least one query and at most the configured maximum";
+    public static final String ESTIMATE_NOT_READY="Distance estimates are being rebuilt for the latest costs, retry shortly";
+    public static final String QUERY_DEADLINE_INVALID="X-Deadline-Ms must be a positive number of milliseconds";
+    public static final String QUERY_DEADLINE_EXCEEDED="The route search did not finish before its deadline";
+    public static final String QUERY_BUDGET_EXCEEDED="The route search exceeded the maximum number of settled nodes";
+    public static final String K_OUT_OF_RANGE="k must be between 1 and the configured maximum";
+    public static final String RUNNERS_UP_OUT_OF_RANGE="runnersUp must be between 0 and the configured maximum minus one";
+    public static final String MAX_COST_NOT_NEGATIVE="Maximum cost cannot be negative";
+    public static final String COST_MATRIX_TOO_LARGE="Cost matrix request exceeds the maximum number of cells";
+    public static final String GRAPH_PREPROCESSING_FINISHED ="{} rebuilt for cost graph version {} in {} ms";
+    public static final String GRAPH_PREPROCESSING_FAILED ="{} rebuild failed for cost graph version {}";
+    public static final String DISTANCE_MATRIX_DISABLED ="Distance matrix disabled for cost graph version {}: {} nodes exceed the limit of {}";
+    public static final String ROUTING_ENGINE_FALLBACK ="{} index not ready for cost graph version {}, falling back to Dijkstra";
+    public static final String BUCKET_QUEUE_WEIGHTS_NOT_REPRESENTABLE ="Cost graph version {} has weights not representable with scale {} in at most {} buckets, falling back to Dijkstra";
 }
@@ -2,10 +2,26 @@ package com.sales_point_service.sales_point_service.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sales_point_service.sales_point_service.config.SecurityConfig;
+import com.sales_point_service.sales_point_service.dtos.BackboneDTO;
+import com.sales_point_service.sales_point_service.dtos.ConnectivityDTO;
 import com.sales_point_service.sales_point_service.dtos.CostDTO;
+import com.sales_point_service.sales_point_service.dtos.CostMatrixDTO;
+import com.sales_point_service.sales_point_service.dtos.CostMatrixRequest;
 import com.sales_point_service.sales_point_service.dtos.CreateCostRequest;
+import com.sales_point_service.sales_point_service.dtos.DistanceEstimateDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfRequest;
+import com.sales_point_service.sales_point_service.dtos.NearestSalePointDTO;
+import com.sales_point_service.sales_point_service.dtos.ReachableSalePointDTO;
 import com.sales_point_service.sales_point_service.dtos.SalePointPathItem;
 import com.sales_point_service.sales_point_service.dtos.ShortestPathDTO;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathOptions;
+import com.sales_point_service.sales_point_service.dtos.TourDTO;
+import com.sales_point_service.sales_point_service.dtos.TourRequest;
+import com.sales_point_service.sales_point_service.dtos.RouteQuery;
+import com.sales_point_service.sales_point_service.dtos.WhatIfRequest;
+import com.sales_point_service.sales_point_service.dtos.WhatIfRouteDTO;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
 import com.sales_point_service.sales_point_service.exceptions.CostException;
 import com.sales_point_service.sales_point_service.exceptions.ExceptionHandlers;
 import com.sales_point_service.sales_point_service.services.CostService;
@@ -22,11 +38,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -147,7 +167,7 @@ public class CostControllerTest {
     void getShortestPath_shouldReturnShortestPath() throws Exception {
         List<SalePointPathItem> path = List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(2L, "B"));
         ShortestPathDTO shortestPathDTO = new ShortestPathDTO(path, 10.0);
-        when(costService.getShortestPath(1L, 2L)).thenReturn(ResponseEntity.ok(shortestPathDTO));
+        when(costService.getShortestPath(1L, 2L, ShortestPathOptions.NONE)).thenReturn(ResponseEntity.ok(shortestPathDTO));
 
         mockMvc.perform(get("/api/costs/shortest-path")
                         .param("from", "1")
@@ -163,7 +183,7 @@ public class CostControllerTest {
     @Test
     @DisplayName("GET /api/costs/shortest-path - Debería devolver 404 si no hay ruta (manejado por servicio)")
     void getShortestPath_whenNoPath_shouldReturnNotFound() throws Exception {
-        when(costService.getShortestPath(1L, 99L))
+        when(costService.getShortestPath(1L, 99L, ShortestPathOptions.NONE))
                 .thenThrow(new CostException("No path found between points", HttpStatus.NOT_FOUND));
 
         mockMvc.perform(get("/api/costs/shortest-path")
@@ -175,6 +195,58 @@ public class CostControllerTest {
     }
 
 
+    @Test
+    @DisplayName("GET /api/costs/shortest-path - Debería pasar al servicio los sale points y enlaces a evitar y el máximo de saltos")
+    void getShortestPath_withConstraints_shouldForwardOptions() throws Exception {
+        List<SalePointPathItem> path = List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(3L, "C"), new SalePointPathItem(2L, "B"));
+        ShortestPathOptions options = new ShortestPathOptions(List.of(4L, 5L), List.of("1-2"), 3, null, null);
+        when(costService.getShortestPath(1L, 2L, options)).thenReturn(ResponseEntity.ok(new ShortestPathDTO(path, 14.0)));
+
+        mockMvc.perform(get("/api/costs/shortest-path")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .param("avoidNodes", "4", "5")
+                        .param("avoidEdges", "1-2")
+                        .param("maxHops", "3")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCost", is(14.0)))
+                .andExpect(jsonPath("$.path", hasSize(3)))
+                .andExpect(jsonPath("$.path[1].name", is("C")));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/shortest-path - Debería pasar al servicio el motor pedido en la consulta")
+    void getShortestPath_withEngine_shouldForwardOverride() throws Exception {
+        List<SalePointPathItem> path = List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(2L, "B"));
+        ShortestPathOptions options = new ShortestPathOptions(null, null, null, null, RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA);
+        when(costService.getShortestPath(1L, 2L, options)).thenReturn(ResponseEntity.ok(new ShortestPathDTO(path, 10.0)));
+
+        mockMvc.perform(get("/api/costs/shortest-path")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .param("engine", "BIDIRECTIONAL_DIJKSTRA")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCost", is(10.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/shortest-path - Debería devolver 504 cuando la búsqueda supera el deadline del encabezado")
+    void getShortestPath_whenDeadlineExceeded_shouldReturnGatewayTimeout() throws Exception {
+        ShortestPathOptions options = new ShortestPathOptions(null, null, null, 50L, null);
+        when(costService.getShortestPath(1L, 2L, options))
+                .thenThrow(new CostException(Constants.QUERY_DEADLINE_EXCEEDED, HttpStatus.GATEWAY_TIMEOUT));
+
+        mockMvc.perform(get("/api/costs/shortest-path")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .header("X-Deadline-Ms", "50")
+                        .with(jwt()))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.message", is(Constants.QUERY_DEADLINE_EXCEEDED)));
+    }
+
     @Test
     @DisplayName("GET /api/costs/direct-connections/{fromId} - Debería devolver conexiones directas")
     void getDirectConnections_shouldReturnDirectConnections() throws Exception {
@@ -200,4 +272,229 @@ public class CostControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message", is(Constants.NOT_DIRECT_CONNECTIONS)));
     }
+
+    @Test
+    @DisplayName("GET /api/costs/connected - Debería indicar si dos puntos están conectados")
+    void isConnected_shouldReturnConnectivity() throws Exception {
+        when(costService.isConnected(1L, 4L)).thenReturn(ResponseEntity.ok(new ConnectivityDTO(1L, 4L, false)));
+
+        mockMvc.perform(get("/api/costs/connected")
+                        .param("from", "1")
+                        .param("to", "4")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.connected", is(false)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/estimate - Debería devolver la estimación con sus cotas")
+    void getDistanceEstimate_shouldReturnEstimateWithBounds() throws Exception {
+        when(costService.getDistanceEstimate(1L, 2L))
+                .thenReturn(ResponseEntity.ok(new DistanceEstimateDTO(1L, 2L, 12.0, 8.0, 12.0, 4.0, 1.5, false)));
+
+        mockMvc.perform(get("/api/costs/estimate")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimate", is(12.0)))
+                .andExpect(jsonPath("$.lowerBound", is(8.0)))
+                .andExpect(jsonPath("$.maxError", is(4.0)))
+                .andExpect(jsonPath("$.observedStretch", is(1.5)))
+                .andExpect(jsonPath("$.lowerBoundOnly", is(false)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/estimate - Debería devolver 503 mientras el oráculo se reconstruye")
+    void getDistanceEstimate_whenRebuilding_shouldReturnServiceUnavailable() throws Exception {
+        when(costService.getDistanceEstimate(1L, 2L))
+                .thenThrow(new CostException(Constants.ESTIMATE_NOT_READY, HttpStatus.SERVICE_UNAVAILABLE));
+
+        mockMvc.perform(get("/api/costs/estimate")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .with(jwt()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", is(Constants.ESTIMATE_NOT_READY)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/shortest-paths - Debería devolver las rutas alternativas ordenadas por costo")
+    void getKShortestPaths_shouldReturnPathsOrderedByCost() throws Exception {
+        List<ShortestPathDTO> paths = List.of(
+                new ShortestPathDTO(List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(2L, "B")), 10.0),
+                new ShortestPathDTO(List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(3L, "C"), new SalePointPathItem(2L, "B")), 12.0));
+        when(costService.getKShortestPaths(1L, 2L, 2)).thenReturn(ResponseEntity.ok(paths));
+
+        mockMvc.perform(get("/api/costs/shortest-paths")
+                        .param("from", "1")
+                        .param("to", "2")
+                        .param("k", "2")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].totalCost", is(10.0)))
+                .andExpect(jsonPath("$[1].path", hasSize(3)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/nearest - Debería devolver los puntos más cercanos ordenados por costo")
+    void getNearestSalePoints_shouldReturnNearestOrderedByCost() throws Exception {
+        List<NearestSalePointDTO> nearest = List.of(new NearestSalePointDTO(2L, "B", 3.0), new NearestSalePointDTO(3L, "C", 7.5));
+        when(costService.getNearestSalePoints(1L, 2)).thenReturn(ResponseEntity.ok(nearest));
+
+        mockMvc.perform(get("/api/costs/nearest")
+                        .param("from", "1")
+                        .param("k", "2")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].name", is("B")))
+                .andExpect(jsonPath("$[1].cost", is(7.5)));
+    }
+
+    @Test
+    @DisplayName("POST /api/costs/nearest-of - Debería devolver el candidato ganador con su ruta y los siguientes costos")
+    void getNearestOf_shouldReturnWinnerAndRunnersUp() throws Exception {
+        NearestOfRequest request = new NearestOfRequest(1L, null, List.of(2L, 3L), 1);
+        NearestOfDTO nearest = new NearestOfDTO(3L, "C", 4.0,
+                List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(3L, "C")),
+                List.of(new NearestSalePointDTO(2L, "B", 9.0)));
+        when(costService.getNearestOf(request)).thenReturn(ResponseEntity.ok(nearest));
+
+        mockMvc.perform(post("/api/costs/nearest-of")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.winnerId", is(3)))
+                .andExpect(jsonPath("$.path", hasSize(2)))
+                .andExpect(jsonPath("$.runnersUp[0].cost", is(9.0)));
+    }
+
+    @Test
+    @DisplayName("POST /api/costs/tour - Debería devolver el recorrido ordenado con sus tramos y costo total")
+    void getTour_shouldReturnOrderedTour() throws Exception {
+        TourRequest request = new TourRequest(List.of(1L, 2L, 3L), true, 7L, 500L);
+        TourDTO tour = new TourDTO(List.of(1L, 3L, 2L), List.of(
+                new ShortestPathDTO(List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(3L, "C")), 2.0),
+                new ShortestPathDTO(List.of(new SalePointPathItem(3L, "C"), new SalePointPathItem(2L, "B")), 3.0),
+                new ShortestPathDTO(List.of(new SalePointPathItem(2L, "B"), new SalePointPathItem(1L, "A")), 4.0)), 9.0);
+        when(costService.getTour(request)).thenReturn(ResponseEntity.ok(tour));
+
+        mockMvc.perform(post("/api/costs/tour")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.order", hasSize(3)))
+                .andExpect(jsonPath("$.legs", hasSize(3)))
+                .andExpect(jsonPath("$.totalCost", is(9.0)));
+    }
+
+    @Test
+    @DisplayName("POST /api/costs/what-if - Debería comparar la ruta actual con la ruta bajo los costos propuestos")
+    void evaluateWhatIf_shouldReturnCurrentAndProposedRoutes() throws Exception {
+        WhatIfRequest request = new WhatIfRequest(List.of(new CreateCostRequest(1L, 2L, null)), List.of(new RouteQuery(1L, 2L)));
+        ShortestPathDTO current = new ShortestPathDTO(List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(2L, "B")), 10.0);
+        ShortestPathDTO proposed = new ShortestPathDTO(List.of(new SalePointPathItem(1L, "A"), new SalePointPathItem(3L, "C"), new SalePointPathItem(2L, "B")), 12.0);
+        when(costService.evaluateWhatIf(request)).thenReturn(ResponseEntity.ok(List.of(new WhatIfRouteDTO(1L, 2L, current, proposed, 2.0))));
+
+        mockMvc.perform(post("/api/costs/what-if")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].current.totalCost", is(10.0)))
+                .andExpect(jsonPath("$[0].proposed.path", hasSize(3)))
+                .andExpect(jsonPath("$[0].costDelta", is(2.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/backbone - Debería devolver el bosque de expansión mínima")
+    void getBackbone_shouldReturnMinimumSpanningForest() throws Exception {
+        BackboneDTO backbone = new BackboneDTO(List.of(costDTO1, costDTO2), 15.0, 1);
+        when(costService.getBackbone()).thenReturn(ResponseEntity.ok(backbone));
+
+        mockMvc.perform(get("/api/costs/backbone")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.links", hasSize(2)))
+                .andExpect(jsonPath("$.totalCost", is(15.0)))
+                .andExpect(jsonPath("$.components", is(1)));
+    }
+
+    @Test
+    @DisplayName("POST /api/costs/matrix - Debería devolver la matriz de costos entre orígenes y destinos")
+    void getCostMatrix_shouldReturnCostMatrix() throws Exception {
+        CostMatrixRequest request = new CostMatrixRequest(List.of(1L, 2L), List.of(3L), false);
+        CostMatrixDTO matrix = new CostMatrixDTO(List.of(1L, 2L), List.of(3L), List.of(List.of(15.0), Arrays.asList((Double) null)), null);
+        when(costService.getCostMatrix(request)).thenReturn(ResponseEntity.ok(matrix));
+
+        mockMvc.perform(post("/api/costs/matrix")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.costs", hasSize(2)))
+                .andExpect(jsonPath("$.costs[0][0]", is(15.0)))
+                .andExpect(jsonPath("$.costs[1][0]").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/costs/matrix - Debería devolver 400 si no hay orígenes o destinos (manejado por servicio)")
+    void getCostMatrix_withEmptyRequest_shouldReturnBadRequest() throws Exception {
+        CostMatrixRequest request = new CostMatrixRequest(List.of(), List.of(3L), false);
+        when(costService.getCostMatrix(request))
+                .thenThrow(new CostException(Constants.COST_MATRIX_EMPTY, HttpStatus.BAD_REQUEST));
+
+        mockMvc.perform(post("/api/costs/matrix")
+                        .with(jwt())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(Constants.COST_MATRIX_EMPTY)));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/reachable - Debería transmitir los puntos alcanzables como NDJSON")
+    void getReachableSalePoints_shouldStreamReachableSalePoints() throws Exception {
+        StreamingResponseBody body = outputStream -> {
+            outputStream.write(objectMapper.writeValueAsBytes(new ReachableSalePointDTO(1L, "A", 0.0, null)));
+            outputStream.write('\n');
+            outputStream.write(objectMapper.writeValueAsBytes(new ReachableSalePointDTO(2L, "B", 4.0, 1L)));
+            outputStream.write('\n');
+        };
+        when(costService.getReachableSalePoints(1L, 10.0, true))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body));
+
+        MvcResult result = mockMvc.perform(get("/api/costs/reachable")
+                        .param("from", "1")
+                        .param("maxCost", "10")
+                        .param("includePredecessor", "true")
+                        .with(jwt()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"predecessorId\":1")));
+    }
+
+    @Test
+    @DisplayName("GET /api/costs/reachable - Debería devolver 400 si el costo máximo es negativo (manejado por servicio)")
+    void getReachableSalePoints_withNegativeBudget_shouldReturnBadRequest() throws Exception {
+        when(costService.getReachableSalePoints(1L, -1.0, false))
+                .thenThrow(new CostException(Constants.MAX_COST_NOT_NEGATIVE, HttpStatus.BAD_REQUEST));
+
+        mockMvc.perform(get("/api/costs/reachable")
+                        .param("from", "1")
+                        .param("maxCost", "-1")
+                        .with(jwt()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is(Constants.MAX_COST_NOT_NEGATIVE)));
+    }
 }
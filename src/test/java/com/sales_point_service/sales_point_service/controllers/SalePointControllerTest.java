@@ -3,10 +3,12 @@ package com.sales_point_service.sales_point_service.controllers;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sales_point_service.sales_point_service.config.SecurityConfig;
 import com.sales_point_service.sales_point_service.dtos.CreateSalePointRequest;
+import com.sales_point_service.sales_point_service.dtos.HubDTO;
 import com.sales_point_service.sales_point_service.dtos.SalePointDTO;
 import com.sales_point_service.sales_point_service.dtos.UpdateSalePointRequest;
 import com.sales_point_service.sales_point_service.exceptions.ExceptionHandlers;
 import com.sales_point_service.sales_point_service.exceptions.SalePointException;
+import com.sales_point_service.sales_point_service.services.AnalyticsService;
 import com.sales_point_service.sales_point_service.services.SalePointService;
 import com.sales_point_service.sales_point_service.utils.Constants;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +25,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -44,6 +47,9 @@ public class SalePointControllerTest {
     @MockBean
     private SalePointService salePointService;
 
+    @MockBean
+    private AnalyticsService analyticsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -174,4 +180,31 @@ public class SalePointControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(Constants.SALE_POINTS_DELETED + 1L));
     }
+
+    @Test
+    @DisplayName("GET /api/sales-point/analytics/hubs - Debería devolver los hubs ordenados por intermediación")
+    void getHubs_shouldReturnHubs() throws Exception {
+        when(analyticsService.getHubs(2)).thenReturn(ResponseEntity.ok(List.of(
+                new HubDTO(2L, "Point B", 4.0, 0.75),
+                new HubDTO(1L, "Point A", 0.0, null))));
+
+        mockMvc.perform(get("/api/sales-point/analytics/hubs")
+                        .param("limit", "2")
+                        .with(jwt()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(jsonPath("$[0].betweenness", is(4.0)));
+    }
+
+    @Test
+    @DisplayName("GET /api/sales-point/analytics/hubs - Debería devolver 503 si aún no se calcularon")
+    void getHubs_whenNotComputed_shouldReturnServiceUnavailable() throws Exception {
+        when(analyticsService.getHubs(10))
+                .thenThrow(new SalePointException(Constants.HUBS_NOT_READY, HttpStatus.SERVICE_UNAVAILABLE));
+
+        mockMvc.perform(get("/api/sales-point/analytics/hubs")
+                        .with(jwt()))
+                .andExpect(status().isServiceUnavailable());
+    }
 }
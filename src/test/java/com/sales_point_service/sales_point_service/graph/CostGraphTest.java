@@ -0,0 +1,82 @@
+package com.sales_point_service.sales_point_service.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostGraphTest {
+
+    private Map<Long, Map<Long, Double>> adjacency() {
+        Map<Long, Map<Long, Double>> adjacency = new HashMap<>();
+        adjacency.put(30L, Map.of(10L, 5.0));
+        adjacency.put(10L, Map.of(30L, 5.0, 20L, 2.0));
+        adjacency.put(20L, Map.of(10L, 2.0));
+        return adjacency;
+    }
+
+    @Test
+    @DisplayName("fromAdjacency - Debería indexar los nodos en orden ascendente de ID")
+    void fromAdjacency_shouldIndexNodesInAscendingIdOrder() {
+        CostGraph graph = CostGraph.fromAdjacency(1L, adjacency(), null);
+
+        assertEquals(3, graph.nodeCount());
+        assertEquals(4, graph.edgeCount());
+        assertEquals(0, graph.indexOf(10L));
+        assertEquals(2, graph.indexOf(30L));
+        assertEquals(-1, graph.indexOf(99L));
+        assertEquals(20L, graph.nodeId(1));
+    }
+
+    @Test
+    @DisplayName("fromAdjacency - Debería exponer los vecinos y costos de cada nodo")
+    void fromAdjacency_shouldExposeNeighborsAndWeights() {
+        CostGraph graph = CostGraph.fromAdjacency(1L, adjacency(), null);
+        int node = graph.indexOf(10L);
+
+        Map<Long, Double> neighbors = new HashMap<>();
+        for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+            neighbors.put(graph.nodeId(graph.target(edge)), graph.weight(edge));
+        }
+
+        assertEquals(Map.of(20L, 2.0, 30L, 5.0), neighbors);
+        assertEquals(2, graph.degree(node));
+    }
+
+    @Test
+    @DisplayName("fromAdjacency - Debería reutilizar los índices cuando el conjunto de nodos no cambia")
+    void fromAdjacency_whenNodesUnchanged_shouldReuseIndices() {
+        CostGraph first = CostGraph.fromAdjacency(1L, adjacency(), null);
+        Map<Long, Map<Long, Double>> updated = adjacency();
+        updated.put(20L, Map.of(10L, 7.0));
+        updated.put(10L, Map.of(30L, 5.0, 20L, 7.0));
+
+        CostGraph second = CostGraph.fromAdjacency(2L, updated, first);
+        updated.put(40L, Map.of());
+        CostGraph third = CostGraph.fromAdjacency(3L, updated, second);
+
+        assertTrue(second.hasSameNodes(first));
+        assertFalse(third.hasSameNodes(second));
+        assertEquals(2L, second.version());
+    }
+
+    @Test
+    @DisplayName("withWeight - Debería cambiar el costo en ambos sentidos sin tocar el snapshot original")
+    void withWeight_shouldPatchBothDirections() {
+        CostGraph graph = CostGraph.fromAdjacency(1L, adjacency(), null);
+
+        CostGraph patched = graph.withWeight(2L, 20L, 10L, 9.0);
+
+        assertNotNull(patched);
+        assertTrue(patched.hasSameNodes(graph));
+        assertEquals(2L, patched.version());
+        assertEquals(9.0, patched.weight(patched.edgeBetween(graph.indexOf(10L), graph.indexOf(20L))));
+        assertEquals(9.0, patched.weight(patched.edgeBetween(graph.indexOf(20L), graph.indexOf(10L))));
+        assertEquals(2.0, graph.weight(graph.edgeBetween(graph.indexOf(10L), graph.indexOf(20L))));
+        assertNull(graph.withWeight(2L, 20L, 30L, 1.0));
+        assertNull(graph.withWeight(2L, 20L, 99L, 1.0));
+    }
+}
@@ -0,0 +1,67 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.PriorityQueue;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackboneCalculatorTest {
+
+    private final BackboneCalculator calculator = new BackboneCalculator();
+
+    @Test
+    @DisplayName("backbone - Debería coincidir con el costo del bosque mínimo calculado con Prim")
+    void backbone_shouldMatchPrimForest() {
+        for (long seed = 0; seed < 8; seed++) {
+            CostGraph graph = randomGraph(seed, 300, 450, seed % 2 == 0);
+
+            BackboneCalculator.Backbone backbone = calculator.backbone(graph);
+
+            double[] prim = primForest(graph);
+            assertEquals(prim[0], backbone.totalCost(), 1e-6);
+            assertEquals((int) prim[1], backbone.components());
+            assertEquals(graph.nodeCount() - backbone.components(), backbone.edges().length);
+            for (int i = 0; i < backbone.edges().length; i++) {
+                assertEquals(backbone.edges()[i], graph.edgeBetween(backbone.sources()[i], graph.target(backbone.edges()[i])));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("backbone - Debería reutilizar el resultado mientras no cambie el snapshot del grafo")
+    void backbone_shouldBeCachedPerGraphVersion() {
+        CostGraph graph = randomGraph(1, 100, 300, true);
+
+        assertSame(calculator.backbone(graph), calculator.backbone(graph));
+
+        CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacencyOf(graph), graph);
+        assertNotSame(calculator.backbone(graph), calculator.backbone(updated));
+    }
+
+    private static double[] primForest(CostGraph graph) {
+        boolean[] inTree = new boolean[graph.nodeCount()];
+        double total = 0.0;
+        int components = 0;
+        for (int root = 0; root < graph.nodeCount(); root++) {
+            if (inTree[root]) continue;
+            components++;
+            PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+            queue.add(new double[]{0.0, root});
+            while (!queue.isEmpty()) {
+                double[] entry = queue.poll();
+                int node = (int) entry[1];
+                if (inTree[node]) continue;
+                inTree[node] = true;
+                total += entry[0];
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    if (!inTree[graph.target(edge)]) queue.add(new double[]{graph.weight(edge), graph.target(edge)});
+                }
+            }
+        }
+        return new double[]{total, components};
+    }
+}
@@ -0,0 +1,116 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.CentralityResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CentralityAnalyzerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final CentralityAnalyzer analyzer = new CentralityAnalyzer(pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("compute - Debería coincidir con la intermediación calculada por fuerza bruta")
+    void compute_shouldMatchBruteForceBetweenness() {
+        for (long seed = 0; seed < 4; seed++) {
+            CostGraph graph = randomGraph(seed, 40, 90, true);
+            AtomicInteger processed = new AtomicInteger();
+
+            CentralityResult result = analyzer.compute(graph, 0, seed, processed);
+
+            double[] expected = bruteForceBetweenness(graph);
+            assertEquals(graph.nodeCount(), processed.get());
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                assertEquals(expected[node], result.betweenness()[node], 1e-6);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("compute - Debería identificar el centro de una estrella como hub")
+    void compute_shouldRankStarCenterFirst() {
+        CostGraph graph = graph(new double[]{1, 2, 1}, new double[]{1, 3, 1}, new double[]{1, 4, 1}, new double[]{1, 5, 1});
+
+        CentralityResult result = analyzer.compute(graph, 0, 0L, new AtomicInteger());
+
+        int center = graph.indexOf(1L);
+        int leaf = graph.indexOf(2L);
+        assertEquals(6.0, result.betweenness()[center], 1e-9);
+        assertEquals(0.0, result.betweenness()[leaf], 1e-9);
+        assertEquals(1.0, result.closeness()[center], 1e-9);
+        assertEquals(4.0 / 7.0, result.closeness()[leaf], 1e-9);
+    }
+
+    @Test
+    @DisplayName("compute - Debería dejar sin cercanía los nodos no muestreados")
+    void compute_withSampling_shouldOnlyScoreSampledSources() {
+        CostGraph graph = randomGraph(7L, 60, 150, true);
+
+        CentralityResult result = analyzer.compute(graph, 10, 7L, new AtomicInteger());
+
+        assertEquals(10, result.sampledSources());
+        long scored = Arrays.stream(result.closeness()).filter(value -> !Double.isNaN(value)).count();
+        assertEquals(10, scored);
+    }
+
+    @Test
+    @DisplayName("compute - Debería contar los caminos que cruzan enlaces de costo cero")
+    void compute_withZeroCostLink_shouldKeepBetweennessFinite() {
+        CostGraph graph = graph(new double[]{1, 2, 0}, new double[]{2, 3, 1});
+
+        CentralityResult result = analyzer.compute(graph, 0, 0L, new AtomicInteger());
+
+        assertEquals(0.0, result.betweenness()[graph.indexOf(1L)], 1e-9);
+        assertEquals(1.0, result.betweenness()[graph.indexOf(2L)], 1e-9);
+        assertEquals(0.0, result.betweenness()[graph.indexOf(3L)], 1e-9);
+    }
+
+    private static double[] bruteForceBetweenness(CostGraph graph) {
+        int n = graph.nodeCount();
+        double[][] distance = new double[n][];
+        double[][] paths = new double[n][n];
+        for (int source = 0; source < n; source++) {
+            distance[source] = referenceDistances(graph, source);
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            double[] d = distance[source];
+            Arrays.sort(order, (a, b) -> Double.compare(d[a], d[b]));
+            paths[source][source] = 1.0;
+            for (int node : order) {
+                if (node == source || d[node] == Double.POSITIVE_INFINITY) continue;
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (d[neighbor] + graph.weight(edge) == d[node]) paths[source][node] += paths[source][neighbor];
+                }
+            }
+        }
+
+        double[] betweenness = new double[n];
+        for (int s = 0; s < n; s++) {
+            for (int t = s + 1; t < n; t++) {
+                if (distance[s][t] == Double.POSITIVE_INFINITY) continue;
+                for (int v = 0; v < n; v++) {
+                    if (v == s || v == t) continue;
+                    if (distance[s][v] + distance[v][t] == distance[s][t]) {
+                        betweenness[v] += paths[s][v] * paths[v][t] / paths[s][t];
+                    }
+                }
+            }
+        }
+        return betweenness;
+    }
+}
@@ -0,0 +1,85 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectedComponentsIndexTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConnectedComponentsIndex index = new ConnectedComponentsIndex(meterRegistry);
+
+    @Test
+    @DisplayName("connected - Debería unir componentes al agregar aristas y separarlos al eliminarlas")
+    void connected_shouldFollowAddsAndRemovals() {
+        CostGraph graph = graph(new double[]{1, 2, 1}, new double[]{3, 4, 1});
+        assertTrue(index.connected(graph, 1, 2));
+        assertFalse(index.connected(graph, 1, 4));
+        assertEquals(2.0, meterRegistry.get("routing.components.count").gauge().value());
+
+        graph = change(graph, 2, 3, 5.0);
+        assertTrue(index.connected(graph, 1, 4));
+        assertEquals(1.0, meterRegistry.get("routing.components.count").gauge().value());
+        assertEquals(4.0, meterRegistry.get("routing.components.largest.size").gauge().value());
+
+        graph = change(graph, 5, 1, 2.0);
+        assertTrue(index.connected(graph, 5, 4));
+
+        graph = change(graph, 2, 3, null);
+        assertFalse(index.connected(graph, 5, 4));
+        assertTrue(index.connected(graph, 5, 2));
+        assertEquals(2.0, meterRegistry.get("routing.components.count").gauge().value());
+        assertFalse(index.connected(graph, 1, 99));
+    }
+
+    @Test
+    @DisplayName("isKnownDisconnected - Debería omitir el descarte temprano cuando el snapshot de la consulta no es el publicado")
+    void isKnownDisconnected_withOtherSnapshot_shouldSkipCheck() {
+        CostGraph graph = graph(new double[]{1, 2, 1}, new double[]{3, 4, 1});
+        index.onGraphChanged(CostGraphChangedEvent.reload(graph));
+        assertTrue(index.isKnownDisconnected(graph, 1, 4));
+        assertFalse(index.isKnownDisconnected(graph, 1, 2));
+
+        CostGraph updated = change(graph, 2, 3, 5.0);
+        assertFalse(index.isKnownDisconnected(graph, 1, 4));
+        assertFalse(index.isKnownDisconnected(updated, 1, 4));
+    }
+
+    @Test
+    @DisplayName("connected - Debería responder sobre un snapshot anterior sin retroceder el índice publicado")
+    void connected_withOlderSnapshot_shouldNotRollBackIndex() {
+        CostGraph graph = graph(new double[]{1, 2, 1}, new double[]{3, 4, 1});
+        index.onGraphChanged(CostGraphChangedEvent.reload(graph));
+        CostGraph updated = change(graph, 2, 3, 5.0);
+
+        assertFalse(index.connected(graph, 1, 4));
+        assertEquals(1.0, meterRegistry.get("routing.components.count").gauge().value());
+        assertTrue(index.isKnownDisconnected(updated, 1, 99));
+        assertFalse(index.isKnownDisconnected(updated, 1, 4));
+        assertTrue(index.connected(updated, 1, 4));
+    }
+
+    private CostGraph change(CostGraph graph, long fromId, long toId, Double newCost) {
+        Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+        Double previousCost = adjacency.getOrDefault(fromId, Map.of()).get(toId);
+        if (newCost == null) {
+            adjacency.get(fromId).remove(toId);
+            adjacency.get(toId).remove(fromId);
+        } else {
+            adjacency.computeIfAbsent(fromId, k -> new HashMap<>()).put(toId, newCost);
+            adjacency.computeIfAbsent(toId, k -> new HashMap<>()).put(fromId, newCost);
+        }
+        adjacency.values().removeIf(Map::isEmpty);
+        CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+        index.onGraphChanged(new CostGraphChangedEvent(updated, fromId, toId, previousCost, newCost));
+        return updated;
+    }
+}
@@ -0,0 +1,85 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public final class CostGraphFixtures {
+
+    private CostGraphFixtures() {
+    }
+
+    public static CostGraph graph(double[]... edges) {
+        Map<Long, Map<Long, Double>> adjacency = new HashMap<>();
+        for (double[] edge : edges) {
+            long from = (long) edge[0];
+            long to = (long) edge[1];
+            adjacency.computeIfAbsent(from, k -> new HashMap<>()).put(to, edge[2]);
+            adjacency.computeIfAbsent(to, k -> new HashMap<>()).put(from, edge[2]);
+        }
+        return CostGraph.fromAdjacency(1L, adjacency, null);
+    }
+
+    public static CostGraph randomGraph(long seed, int nodes, int edges, boolean integralWeights) {
+        Random random = new Random(seed);
+        Map<Long, Map<Long, Double>> adjacency = new HashMap<>();
+        for (int i = 0; i < edges; i++) {
+            long from = 1 + random.nextInt(nodes);
+            long to = 1 + random.nextInt(nodes);
+            if (from == to) continue;
+            double cost = integralWeights ? 1 + random.nextInt(50) : Math.round(random.nextDouble() * 10000) / 100.0;
+            adjacency.computeIfAbsent(from, k -> new HashMap<>()).put(to, cost);
+            adjacency.computeIfAbsent(to, k -> new HashMap<>()).put(from, cost);
+        }
+        return CostGraph.fromAdjacency(1L, adjacency, null);
+    }
+
+    public static Map<Long, Map<Long, Double>> adjacencyOf(CostGraph graph) {
+        Map<Long, Map<Long, Double>> adjacency = new HashMap<>();
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            Map<Long, Double> neighbors = adjacency.computeIfAbsent(graph.nodeId(node), k -> new HashMap<>());
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                neighbors.put(graph.nodeId(graph.target(edge)), graph.weight(edge));
+            }
+        }
+        return adjacency;
+    }
+
+    public static double[] referenceDistances(CostGraph graph, int source) {
+        int n = graph.nodeCount();
+        double[] distance = new double[n];
+        boolean[] done = new boolean[n];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0.0;
+        for (int round = 0; round < n; round++) {
+            int best = -1;
+            for (int v = 0; v < n; v++) {
+                if (!done[v] && distance[v] < Double.POSITIVE_INFINITY && (best < 0 || distance[v] < distance[best])) {
+                    best = v;
+                }
+            }
+            if (best < 0) break;
+            done[best] = true;
+            for (int edge = graph.firstEdge(best); edge < graph.endEdge(best); edge++) {
+                int target = graph.target(edge);
+                distance[target] = Math.min(distance[target], distance[best] + graph.weight(edge));
+            }
+        }
+        return distance;
+    }
+
+    public static double pathCost(CostGraph graph, int[] path) {
+        double total = 0.0;
+        for (int i = 1; i < path.length; i++) {
+            double hop = Double.POSITIVE_INFINITY;
+            for (int edge = graph.firstEdge(path[i - 1]); edge < graph.endEdge(path[i - 1]); edge++) {
+                if (graph.target(edge) == path[i]) hop = Math.min(hop, graph.weight(edge));
+            }
+            total += hop;
+        }
+        return total;
+    }
+}
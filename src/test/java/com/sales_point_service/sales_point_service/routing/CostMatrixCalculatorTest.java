@@ -0,0 +1,85 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.CostMatrixResult;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CostMatrixCalculatorTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final OneToAllSearch oneToAllSearch = new OneToAllSearch(dijkstra, 200000, 0.0, pool);
+    private final CostMatrixCalculator calculator = new CostMatrixCalculator(dijkstra, oneToAllSearch, pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("compute - Debería coincidir con Dijkstra para cada par, incluidos orígenes repetidos")
+    void compute_shouldMatchDijkstraForEveryPair() {
+        CostGraph graph = randomGraph(5, 300, 700, false);
+        int last = graph.nodeCount() - 1;
+        int[] sources = {0, 17, 42, 17, last};
+        int[] targets = {3, 0, 150, 151, last - 1, 3};
+
+        CostMatrixResult result = calculator.compute(graph, sources, targets, true);
+
+        for (int i = 0; i < sources.length; i++) {
+            double[] reference = referenceDistances(graph, sources[i]);
+            for (int j = 0; j < targets.length; j++) {
+                assertEquals(reference[targets[j]], result.costs()[i][j], 1e-9);
+
+                int[] path = result.paths()[i][j];
+                if (reference[targets[j]] == Double.POSITIVE_INFINITY) {
+                    assertEquals(0, path.length);
+                } else {
+                    assertEquals(sources[i], path[0]);
+                    assertEquals(targets[j], path[path.length - 1]);
+                    assertEquals(reference[targets[j]], pathCost(graph, path), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("compute - Debería omitir las rutas cuando no se solicitan")
+    void compute_withoutPaths_shouldOnlyReturnCosts() {
+        CostGraph graph = graph(new double[]{1, 2, 4}, new double[]{2, 3, 1}, new double[]{1, 3, 7});
+
+        CostMatrixResult result = calculator.compute(graph, new int[]{0}, new int[]{2}, false);
+        ShortestPathResult expected = dijkstra.shortestPath(graph, 0, 2);
+
+        assertNull(result.paths());
+        assertEquals(expected.cost(), result.costs()[0][0], 1e-9);
+    }
+
+    @Test
+    @DisplayName("compute - Debería coincidir con Dijkstra cuando cada fila se resuelve con delta-stepping")
+    void compute_withDeltaStepping_shouldMatchDijkstra() {
+        OneToAllSearch parallelSearch = new OneToAllSearch(dijkstra, 0, 0.0, pool);
+        CostMatrixCalculator parallelCalculator = new CostMatrixCalculator(dijkstra, parallelSearch, pool);
+        CostGraph graph = randomGraph(9, 300, 700, true);
+        int[] targets = {0, 5, 99, graph.nodeCount() - 1};
+
+        CostMatrixResult result = parallelCalculator.compute(graph, new int[]{7}, targets, true);
+
+        double[] reference = referenceDistances(graph, 7);
+        for (int j = 0; j < targets.length; j++) {
+            assertEquals(reference[targets[j]], result.costs()[0][j], 1e-9);
+            if (reference[targets[j]] < Double.POSITIVE_INFINITY) {
+                assertEquals(reference[targets[j]], pathCost(graph, result.paths()[0][j]), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchMask;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HopLimitedPathFinderTest {
+
+    private final HopLimitedPathFinder finder = new HopLimitedPathFinder();
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+
+    @Test
+    @DisplayName("find - Debería coincidir con el cálculo por capas de fuerza bruta para cada límite de saltos")
+    void find_shouldMatchBruteForceHopLayers() {
+        for (long seed = 0; seed < 4; seed++) {
+            CostGraph graph = randomGraph(seed, 120, 300, seed % 2 == 0);
+            SearchMask mask = new SearchMask();
+            mask.blockNode(5);
+            mask.blockEdge(graph.firstEdge(0));
+
+            for (int hops = 1; hops <= 6; hops++) {
+                for (int target = 1; target < graph.nodeCount(); target += 7) {
+                    if (target == 5) continue;
+                    double expected = bruteForce(graph, 0, target, hops, mask);
+                    ShortestPathResult result = finder.find(graph, 0, target, hops, mask);
+
+                    assertEquals(expected < Double.POSITIVE_INFINITY, result.found());
+                    if (!result.found()) continue;
+                    assertEquals(expected, result.cost(), 1e-9);
+                    assertTrue(result.path().length - 1 <= hops);
+                    assertEquals(0, result.path()[0]);
+                    assertEquals(target, result.path()[result.path().length - 1]);
+                    assertEquals(result.cost(), pathCost(graph, result.path()), 1e-9);
+                    assertFalse(Arrays.stream(result.path()).anyMatch(node -> node == 5));
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("find - Debería preferir una ruta más cara con menos saltos cuando el límite lo exige")
+    void find_withTightLimit_shouldTakeFewerHops() {
+        CostGraph graph = graph(new double[]{1, 2, 1}, new double[]{2, 3, 1}, new double[]{3, 4, 1}, new double[]{1, 4, 10});
+        int source = graph.indexOf(1L);
+        int target = graph.indexOf(4L);
+
+        ShortestPathResult unconstrained = dijkstra.shortestPath(graph, source, target, new SearchMask());
+        ShortestPathResult limited = finder.find(graph, source, target, 2, new SearchMask());
+
+        assertEquals(3.0, unconstrained.cost());
+        assertEquals(10.0, limited.cost());
+        assertArrayEquals(new int[]{source, target}, limited.path());
+    }
+
+    private static double bruteForce(CostGraph graph, int source, int target, int hops, SearchMask mask) {
+        double[] distance = new double[graph.nodeCount()];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        distance[source] = 0.0;
+        for (int hop = 0; hop < hops; hop++) {
+            double[] next = distance.clone();
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                if (distance[node] == Double.POSITIVE_INFINITY) continue;
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int neighbor = graph.target(edge);
+                    if (mask.isEdgeBlocked(edge) || mask.isNodeBlocked(neighbor)) continue;
+                    next[neighbor] = Math.min(next[neighbor], distance[node] + graph.weight(edge));
+                }
+            }
+            distance = next;
+        }
+        return distance[target];
+    }
+}
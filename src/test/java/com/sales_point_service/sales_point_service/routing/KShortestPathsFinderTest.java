@@ -0,0 +1,71 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class KShortestPathsFinderTest {
+
+    private final KShortestPathsFinder finder = new KShortestPathsFinder(new DijkstraRoutingEngine());
+
+    @Test
+    @DisplayName("find - Debería devolver las k rutas simples más baratas ordenadas por costo")
+    void find_shouldMatchEnumerationOfSimplePaths() {
+        for (long seed = 0; seed < 10; seed++) {
+            CostGraph graph = randomGraph(seed, 9, 20, seed % 2 == 0);
+            int target = graph.nodeCount() - 1;
+            List<Double> allCosts = simplePathCosts(graph, 0, target);
+
+            List<ShortestPathResult> paths = finder.find(graph, 0, target, 6);
+
+            assertEquals(Math.min(6, allCosts.size()), paths.size());
+            Set<List<Integer>> distinct = new HashSet<>();
+            for (int i = 0; i < paths.size(); i++) {
+                int[] path = paths.get(i).path();
+                assertEquals(allCosts.get(i), paths.get(i).cost(), 1e-9);
+                assertEquals(paths.get(i).cost(), pathCost(graph, path), 1e-9);
+                assertEquals(0, path[0]);
+                assertEquals(target, path[path.length - 1]);
+                assertEquals(path.length, Arrays.stream(path).distinct().count());
+                assertTrue(distinct.add(Arrays.stream(path).boxed().toList()));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("find - Debería devolver una lista vacía cuando no hay ruta")
+    void find_whenDisconnected_shouldReturnEmptyList() {
+        CostGraph graph = graph(new double[]{1, 2, 2}, new double[]{3, 4, 3});
+
+        assertTrue(finder.find(graph, graph.indexOf(1), graph.indexOf(4), 3).isEmpty());
+    }
+
+    private static List<Double> simplePathCosts(CostGraph graph, int source, int target) {
+        List<Double> costs = new ArrayList<>();
+        enumerate(graph, source, target, new boolean[graph.nodeCount()], 0.0, costs);
+        Collections.sort(costs);
+        return costs;
+    }
+
+    private static void enumerate(CostGraph graph, int node, int target, boolean[] onPath, double cost, List<Double> costs) {
+        if (node == target) {
+            costs.add(cost);
+            return;
+        }
+        onPath[node] = true;
+        for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+            int neighbor = graph.target(edge);
+            if (!onPath[neighbor]) {
+                enumerate(graph, neighbor, target, onPath, cost + graph.weight(edge), costs);
+            }
+        }
+        onPath[node] = false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.OneToAllResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OneToAllSearchTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final OneToAllSearch search = new OneToAllSearch(dijkstra, 0, 0.0, pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("search - Debería coincidir con Dijkstra y devolver un árbol de caminos válido con delta-stepping")
+    void search_withDeltaStepping_shouldMatchDijkstra() {
+        for (long seed = 0; seed < 6; seed++) {
+            CostGraph graph = randomGraph(seed, 3000, 12000, seed % 2 == 0);
+            assertTrue(search.usesDeltaStepping(graph));
+
+            for (int source = 0; source < graph.nodeCount(); source += 997) {
+                double[] expected = dijkstra.distancesFrom(graph, source);
+                OneToAllResult result = search.search(graph, source);
+
+                for (int node = 0; node < graph.nodeCount(); node++) {
+                    assertEquals(expected[node], result.distances()[node], 1e-9);
+                    if (expected[node] < Double.POSITIVE_INFINITY) {
+                        int[] path = result.pathTo(node);
+                        assertEquals(source, path[0]);
+                        assertEquals(result.distances()[node], pathCost(graph, path), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("search - Debería resolver predecesores con aristas de costo cero")
+    void search_withZeroWeightEdges_shouldBuildAcyclicTree() {
+        CostGraph graph = graph(new double[]{1, 2, 0}, new double[]{2, 3, 0}, new double[]{3, 4, 2}, new double[]{1, 4, 5});
+
+        OneToAllResult result = search.search(graph, graph.indexOf(1L));
+
+        assertEquals(2.0, result.distances()[graph.indexOf(4L)]);
+        assertArrayEquals(new int[]{graph.indexOf(1L), graph.indexOf(2L), graph.indexOf(3L), graph.indexOf(4L)},
+                result.pathTo(graph.indexOf(4L)));
+    }
+
+    @Test
+    @DisplayName("searchWithinBudget - Debería reportar los mismos nodos que Dijkstra en orden creciente de costo")
+    void searchWithinBudget_shouldMatchDijkstraInCostOrder() {
+        CostGraph fractional = randomGraph(3, 2000, 8000, false);
+        CostGraph integral = randomGraph(4, 2000, 8000, true);
+
+        for (CostGraph graph : List.of(fractional, integral)) {
+            for (double maxCost : new double[]{60.0, Double.POSITIVE_INFINITY}) {
+                List<double[]> expected = new ArrayList<>();
+                dijkstra.searchWithinBudget(graph, 0, maxCost, (node, distance, predecessor) -> expected.add(new double[]{node, distance}));
+                List<double[]> actual = new ArrayList<>();
+                search.searchWithinBudget(graph, 0, maxCost, (node, distance, predecessor) -> actual.add(new double[]{node, distance}));
+
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < actual.size(); i++) {
+                    assertEquals(expected.get(i)[1], actual.get(i)[1], 1e-9);
+                    if (i > 0) assertTrue(actual.get(i - 1)[1] <= actual.get(i)[1]);
+                }
+            }
+        }
+    }
+}
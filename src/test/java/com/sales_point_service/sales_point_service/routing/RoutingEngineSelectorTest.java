@@ -0,0 +1,82 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.AltRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.implementations.BidirectionalDijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.implementations.BucketQueueRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkPreprocessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingEngineSelectorTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final LandmarkPreprocessor landmarkPreprocessor = new LandmarkPreprocessor(
+            new OneToAllSearch(dijkstra, 200000, 0.0, ForkJoinPool.commonPool()), 4, RoutingAlgorithm.AUTO);
+    private final RoutingEngineFactory factory = new RoutingEngineFactory(List.of(
+            dijkstra,
+            new BidirectionalDijkstraRoutingEngine(),
+            new BucketQueueRoutingEngine(dijkstra, 100, 65536),
+            new AltRoutingEngine(landmarkPreprocessor, dijkstra)));
+
+    @Test
+    @DisplayName("select - Debería usar ALT cuando sus landmarks están al día con el grafo")
+    void select_withFreshIndex_shouldPreferPreprocessedEngine() {
+        CostGraph graph = randomGraph(1, 100, 300, true);
+        landmarkPreprocessor.rebuildNow(graph);
+        RoutingEngineSelector selector = new RoutingEngineSelector(factory, RoutingAlgorithm.AUTO, 20000);
+
+        assertEquals(RoutingAlgorithm.ALT, selector.select(graph, null).algorithm());
+    }
+
+    @Test
+    @DisplayName("select - Debería elegir según el tamaño del grafo y los costos mientras el índice no está listo")
+    void select_withoutFreshIndex_shouldChooseBySizeAndWeights() {
+        CostGraph integral = randomGraph(2, 100, 300, true);
+        CostGraph fractional = graph(new double[]{1, 2, 0.125}, new double[]{2, 3, 1.5});
+        RoutingEngineFactory withoutIndexes = new RoutingEngineFactory(List.of(
+                dijkstra, new BidirectionalDijkstraRoutingEngine(), new BucketQueueRoutingEngine(dijkstra, 100, 65536)));
+        RoutingEngineSelector selector = new RoutingEngineSelector(withoutIndexes, RoutingAlgorithm.AUTO, 20000);
+
+        assertEquals(RoutingAlgorithm.BUCKET_QUEUE, selector.select(integral, null).algorithm());
+        assertEquals(RoutingAlgorithm.DIJKSTRA, selector.select(fractional, null).algorithm());
+
+        RoutingEngineSelector largeGraphSelector = new RoutingEngineSelector(withoutIndexes, RoutingAlgorithm.AUTO, 100);
+        assertEquals(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA, largeGraphSelector.select(integral, null).algorithm());
+    }
+
+    @Test
+    @DisplayName("select - Debería respetar el motor configurado o el pedido en la consulta")
+    void select_withExplicitAlgorithm_shouldUseIt() {
+        CostGraph graph = randomGraph(3, 100, 300, true);
+        landmarkPreprocessor.rebuildNow(graph);
+        RoutingEngineSelector selector = new RoutingEngineSelector(factory, RoutingAlgorithm.DIJKSTRA, 20000);
+
+        assertEquals(RoutingAlgorithm.DIJKSTRA, selector.select(graph, null).algorithm());
+        assertEquals(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA, selector.select(graph, RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA).algorithm());
+        assertEquals(RoutingAlgorithm.ALT, selector.select(graph, RoutingAlgorithm.AUTO).algorithm());
+        assertEquals(RoutingAlgorithm.DIJKSTRA, selector.select(graph, RoutingAlgorithm.CONTRACTION_HIERARCHIES).algorithm());
+    }
+
+    @Test
+    @DisplayName("select - Debería responder con Dijkstra en lugar de un motor en cuarentena")
+    void select_withQuarantinedEngine_shouldSkipIt() {
+        CostGraph graph = randomGraph(6, 100, 300, true);
+        landmarkPreprocessor.rebuildNow(graph);
+        RoutingEngineSelector selector = new RoutingEngineSelector(factory, RoutingAlgorithm.AUTO, 20000);
+
+        selector.quarantine(RoutingAlgorithm.ALT);
+        selector.quarantine(RoutingAlgorithm.BUCKET_QUEUE);
+
+        assertEquals(RoutingAlgorithm.DIJKSTRA, selector.select(graph, null).algorithm());
+        assertEquals(RoutingAlgorithm.DIJKSTRA, selector.select(graph, RoutingAlgorithm.ALT).algorithm());
+    }
+}
@@ -0,0 +1,57 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.implementations.BidirectionalDijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutingEngineSelfCheckTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("check - Debería contar las diferencias de un motor erróneo y sacarlo de la selección automática")
+    void check_shouldCountMismatchesPerEngine() {
+        RoutingEngine inflated = new RoutingEngine() {
+            @Override
+            public RoutingAlgorithm algorithm() {
+                return RoutingAlgorithm.BUCKET_QUEUE;
+            }
+
+            @Override
+            public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+                ShortestPathResult result = dijkstra.shortestPath(graph, source, target);
+                return result.found() && source != target
+                        ? new ShortestPathResult(result.path(), result.cost() + 1.0, result.settledNodes())
+                        : result;
+            }
+        };
+        RoutingEngineFactory factory = new RoutingEngineFactory(List.of(dijkstra, new BidirectionalDijkstraRoutingEngine(), inflated));
+        RoutingEngineSelector selector = new RoutingEngineSelector(factory, RoutingAlgorithm.AUTO, 20000);
+        RoutingEngineSelfCheck selfCheck = new RoutingEngineSelfCheck(factory, selector, dijkstra, null, null, meterRegistry, true, 30, 0);
+        CostGraph graph = randomGraph(4, 150, 600, false);
+
+        Map<RoutingAlgorithm, Integer> mismatches = selfCheck.check(graph);
+
+        assertEquals(0, mismatches.get(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA));
+        assertTrue(mismatches.get(RoutingAlgorithm.BUCKET_QUEUE) > 0);
+        assertFalse(mismatches.containsKey(RoutingAlgorithm.DIJKSTRA));
+        assertEquals(mismatches.get(RoutingAlgorithm.BUCKET_QUEUE).doubleValue(),
+                meterRegistry.counter("routing.self-check.mismatches", "engine", "BUCKET_QUEUE").count());
+        assertTrue(selector.isQuarantined(RoutingAlgorithm.BUCKET_QUEUE));
+        assertFalse(selector.isQuarantined(RoutingAlgorithm.BIDIRECTIONAL_DIJKSTRA));
+        assertEquals(RoutingAlgorithm.DIJKSTRA, selector.select(graph, null).algorithm());
+    }
+}
@@ -0,0 +1,48 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.sql.init.schema-locations=classpath:sql/route-cache-schema.sql",
+        "spring.sql.init.data-locations=classpath:sql/route-cache-seed.sql"
+})
+@AutoConfigureMockMvc
+class ShortestPathResultCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("GET /shortest-path - Debería responder desde la caché la segunda consulta idéntica tras el arranque sin ediciones")
+    void getShortestPath_afterBoot_shouldHitResultCacheOnSecondCall() throws Exception {
+        for (int call = 0; call < 2; call++) {
+            mockMvc.perform(get("/api/costs/shortest-path")
+                            .param("from", "1")
+                            .param("to", "3")
+                            .with(jwt().authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalCost", is(5.0)));
+        }
+
+        assertEquals(1.0, meterRegistry.get("routing.result.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("routing.result.cache").tag("result", "miss").counter().count());
+    }
+}
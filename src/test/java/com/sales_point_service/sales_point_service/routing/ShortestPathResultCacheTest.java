@@ -0,0 +1,182 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.interfaces.SettledNodeVisitor;
+import com.sales_point_service.sales_point_service.utils.CostUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathResultCacheTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShortestPathResultCache cache = new ShortestPathResultCache(new CostUtils(), dijkstra, 1000, meterRegistry);
+
+    @Test
+    @DisplayName("get - Debería compartir la entrada entre A→B y B→A invirtiendo el camino")
+    void get_shouldShareEntryForReversedPair() {
+        CostGraph graph = randomGraph(1, 100, 300, true);
+        ShortestPathResult computed = dijkstra.shortestPath(graph, 3, 40);
+        cache.onGraphChanged(CostGraphChangedEvent.reload(graph));
+
+        assertNull(cache.get(graph, 3, 40));
+        cache.put(graph, 3, 40, computed);
+        ShortestPathResult reversed = cache.get(graph, 40, 3);
+
+        assertNotNull(reversed);
+        assertEquals(computed.cost(), reversed.cost());
+        assertEquals(40, reversed.path()[0]);
+        assertEquals(3, reversed.path()[reversed.path().length - 1]);
+        assertEquals(reversed.cost(), pathCost(graph, reversed.path()), 1e-9);
+        assertEquals(1.0, meterRegistry.get("routing.result.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("routing.result.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("onGraphChanged - Debería conservar solo los pares que siguen siendo óptimos tras cada cambio de arista")
+    void onGraphChanged_shouldEvictOnlyAffectedPairs() {
+        CostGraph graph = randomGraph(2, 200, 700, false);
+        cache.onGraphChanged(CostGraphChangedEvent.reload(graph));
+        Random random = new Random(2);
+        int[][] pairs = new int[150][];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = new int[]{random.nextInt(graph.nodeCount()), random.nextInt(graph.nodeCount())};
+            cache.put(graph, pairs[i][0], pairs[i][1], dijkstra.shortestPath(graph, pairs[i][0], pairs[i][1]));
+        }
+
+        int survivorsAcrossRounds = 0;
+        for (int round = 0; round < 40; round++) {
+            int node = random.nextInt(graph.nodeCount());
+            int other = random.nextInt(graph.nodeCount());
+            if (node == other) continue;
+            int edge = graph.edgeBetween(node, other);
+            Double previousCost = edge >= 0 ? graph.weight(edge) : null;
+            Double newCost = switch (round % 4) {
+                case 0 -> previousCost == null ? 3.0 : previousCost * 3;
+                case 1 -> previousCost == null ? 1.0 : previousCost / 3;
+                case 2 -> null;
+                default -> random.nextDouble() * 20;
+            };
+            if (previousCost == null && newCost == null) continue;
+
+            long fromId = graph.nodeId(node);
+            long toId = graph.nodeId(other);
+            Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+            if (newCost == null) {
+                adjacency.get(fromId).remove(toId);
+                adjacency.get(toId).remove(fromId);
+            } else {
+                adjacency.computeIfAbsent(fromId, k -> new HashMap<>()).put(toId, newCost);
+                adjacency.computeIfAbsent(toId, k -> new HashMap<>()).put(fromId, newCost);
+            }
+            CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+            cache.onGraphChanged(new CostGraphChangedEvent(updated, fromId, toId, previousCost, newCost));
+            graph = updated;
+
+            for (int[] pair : pairs) {
+                ShortestPathResult cached = cache.get(graph, pair[0], pair[1]);
+                if (cached == null) continue;
+                survivorsAcrossRounds++;
+                assertEquals(referenceDistances(graph, pair[0])[pair[1]], cached.cost(), 1e-9);
+                assertEquals(cached.cost(), pathCost(graph, cached.path()), 1e-9);
+            }
+        }
+
+        assertTrue(survivorsAcrossRounds > 0);
+        assertTrue(cache.size() > 0);
+    }
+
+    @Test
+    @DisplayName("put - Debería ignorar resultados de un snapshot cuyo evento aún no llegó sin vaciar la caché")
+    void put_beforeChangeEvent_shouldNotClearCache() {
+        CostGraph graph = graph(new double[]{1, 2, 1.0}, new double[]{2, 3, 1.0}, new double[]{3, 4, 1.0}, new double[]{4, 5, 1.0});
+        cache.onGraphChanged(CostGraphChangedEvent.reload(graph));
+        cache.put(graph, 0, 2, dijkstra.shortestPath(graph, 0, 2));
+        cache.put(graph, 3, 4, dijkstra.shortestPath(graph, 3, 4));
+
+        Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+        adjacency.get(4L).put(5L, 3.0);
+        adjacency.get(5L).put(4L, 3.0);
+        CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+
+        cache.put(updated, 0, 4, dijkstra.shortestPath(updated, 0, 4));
+        assertEquals(2, cache.size());
+        cache.onGraphChanged(new CostGraphChangedEvent(updated, 4L, 5L, 1.0, 3.0));
+
+        assertNotNull(cache.get(updated, 0, 2));
+        assertNull(cache.get(updated, 3, 4));
+        assertNull(cache.get(updated, 0, 4));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("put - Debería adoptar la versión del snapshot cuando la caché está vacía y no recibió ningún evento")
+    void put_onEmptyCacheWithoutEvent_shouldAdoptSnapshotVersion() {
+        CostGraph graph = graph(new double[]{1, 2, 1.0}, new double[]{2, 3, 2.0}, new double[]{1, 3, 4.0});
+
+        cache.put(graph, 0, 2, dijkstra.shortestPath(graph, 0, 2));
+        ShortestPathResult cached = cache.get(graph, 2, 0);
+
+        assertNotNull(cached);
+        assertEquals(3.0, cached.cost(), 1e-9);
+        cache.onGraphChanged(CostGraphChangedEvent.reload(graph));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("onGraphChanged - Debería buscar los pares mejorables sin bloquear get y put de otras consultas")
+    void onGraphChanged_shouldNotHoldLockDuringImprovableSearch() {
+        CostGraph graph = graph(new double[]{1, 2, 1.0}, new double[]{2, 3, 1.0}, new double[]{3, 4, 1.0}, new double[]{4, 5, 1.0});
+        ExecutorService requests = Executors.newSingleThreadExecutor();
+        AtomicBoolean servedDuringSearch = new AtomicBoolean();
+        AtomicReference<ShortestPathResultCache> shared = new AtomicReference<>();
+        DijkstraRoutingEngine searching = new DijkstraRoutingEngine() {
+            @Override
+            public void searchWithinBudget(CostGraph searched, int source, double maxCost, SettledNodeVisitor visitor) {
+                Future<?> request = requests.submit(() -> {
+                    shared.get().put(graph, 3, 4, dijkstra.shortestPath(graph, 3, 4));
+                    shared.get().get(graph, 0, 4);
+                });
+                try {
+                    request.get(5, TimeUnit.SECONDS);
+                    servedDuringSearch.set(true);
+                } catch (Exception e) {
+                    request.cancel(true);
+                }
+                super.searchWithinBudget(searched, source, maxCost, visitor);
+            }
+        };
+        ShortestPathResultCache concurrent = new ShortestPathResultCache(new CostUtils(), searching, 1000, new SimpleMeterRegistry());
+        shared.set(concurrent);
+        concurrent.onGraphChanged(CostGraphChangedEvent.reload(graph));
+        concurrent.put(graph, 0, 4, dijkstra.shortestPath(graph, 0, 4));
+
+        Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+        adjacency.get(1L).put(5L, 1.0);
+        adjacency.get(5L).put(1L, 1.0);
+        CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+        concurrent.onGraphChanged(new CostGraphChangedEvent(updated, 1L, 5L, null, 1.0));
+        requests.shutdownNow();
+
+        assertTrue(servedDuringSearch.get());
+        assertNull(concurrent.get(updated, 0, 4));
+        assertNotNull(concurrent.get(updated, 3, 4));
+    }
+}
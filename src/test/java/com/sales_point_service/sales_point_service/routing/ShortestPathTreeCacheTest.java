@@ -0,0 +1,118 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.search.SearchBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShortestPathTreeCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ShortestPathTreeCache cache = new ShortestPathTreeCache(new DijkstraRoutingEngine(), 4, meterRegistry, ForkJoinPool.commonPool());
+
+    @Test
+    @DisplayName("shortestPath - Debería construir el árbol del origen a partir de la segunda consulta")
+    void shortestPath_shouldAdmitOriginOnSecondRequest() {
+        CostGraph graph = randomGraph(1, 100, 300, true);
+
+        assertNull(cache.shortestPath(graph, 0, 5));
+        ShortestPathResult result = cache.shortestPath(graph, 0, 5);
+
+        assertNotNull(result);
+        assertEquals(referenceDistances(graph, 0)[5], result.cost(), 1e-9);
+        assertEquals(2.0, meterRegistry.get("routing.spt.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería construir el árbol fuera del presupuesto de la consulta cuando éste es limitado")
+    void shortestPath_withLimitedBudget_shouldBuildTreeInBackground() throws InterruptedException {
+        CostGraph graph = randomGraph(3, 300, 900, true);
+        SearchBudget budget = SearchBudget.of(0, 10);
+
+        try (SearchBudget.Scope ignored = budget.activate()) {
+            assertNull(cache.shortestPath(graph, 0, 5));
+            assertNull(cache.shortestPath(graph, 0, 5));
+        }
+        assertEquals(0, budget.settled());
+
+        ShortestPathResult result = null;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (result == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            try (SearchBudget.Scope ignored = budget.activate()) {
+                result = cache.shortestPath(graph, 0, 5);
+            }
+        }
+        assertNotNull(result);
+        assertEquals(referenceDistances(graph, 0)[5], result.cost(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("onGraphChanged - Debería reparar los árboles en caché tras subir, bajar, agregar o quitar aristas")
+    void onGraphChanged_shouldRepairCachedTrees() {
+        CostGraph graph = randomGraph(2, 200, 700, false);
+        int[] origins = {0, 10, 20};
+        for (int origin : origins) {
+            cache.shortestPath(graph, origin, 1);
+            cache.shortestPath(graph, origin, 1);
+        }
+
+        Random random = new Random(2);
+        for (int round = 0; round < 40; round++) {
+            int node = random.nextInt(graph.nodeCount());
+            int other = random.nextInt(graph.nodeCount());
+            if (node == other) continue;
+            int edge = graph.edgeBetween(node, other);
+            Double previousCost = edge >= 0 ? graph.weight(edge) : null;
+            Double newCost = switch (round % 4) {
+                case 0 -> previousCost == null ? 3.0 : previousCost * 3;
+                case 1 -> previousCost == null ? 1.0 : previousCost / 3;
+                case 2 -> null;
+                default -> random.nextDouble() * 20;
+            };
+            if (previousCost == null && newCost == null) continue;
+
+            long fromId = graph.nodeId(node);
+            long toId = graph.nodeId(other);
+            Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+            if (newCost == null) {
+                adjacency.get(fromId).remove(toId);
+                adjacency.get(toId).remove(fromId);
+            } else {
+                adjacency.computeIfAbsent(fromId, k -> new HashMap<>()).put(toId, newCost);
+                adjacency.computeIfAbsent(toId, k -> new HashMap<>()).put(fromId, newCost);
+            }
+            adjacency.values().removeIf(Map::isEmpty);
+            CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+            cache.onGraphChanged(new CostGraphChangedEvent(updated, fromId, toId, previousCost, newCost));
+            graph = updated;
+
+            for (int origin : origins) {
+                if (origin >= graph.nodeCount()) continue;
+                double[] reference = referenceDistances(graph, origin);
+                for (int target = 0; target < graph.nodeCount(); target += 9) {
+                    ShortestPathResult result = cache.shortestPath(graph, origin, target);
+                    assertEquals(reference[target] < Double.POSITIVE_INFINITY, result.found());
+                    if (result.found()) {
+                        assertEquals(reference[target], result.cost(), 1e-9);
+                        assertEquals(result.cost(), pathCost(graph, result.path()), 1e-9);
+                    }
+                }
+            }
+        }
+
+        assertTrue(meterRegistry.get("routing.spt.repair.nodes").summary().count() > 0);
+    }
+}
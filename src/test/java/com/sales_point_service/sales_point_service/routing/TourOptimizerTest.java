@@ -0,0 +1,98 @@
+package com.sales_point_service.sales_point_service.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TourOptimizerTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final TourOptimizer optimizer = new TourOptimizer(4, pool);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("optimize - Debería encontrar el recorrido óptimo sobre puntos en posición convexa")
+    void optimize_shouldFindOptimalTourOnConvexPoints() {
+        int n = 60;
+        double[] angles = new double[n];
+        Random random = new Random(1);
+        for (int i = 0; i < n; i++) {
+            angles[i] = random.nextDouble() * 2 * Math.PI;
+        }
+        double[][] costs = euclidean(angles);
+
+        int[] tour = optimizer.optimize(costs, true, 42L, Long.MAX_VALUE);
+
+        assertEquals(0, tour[0]);
+        assertArrayEquals(range(n), Arrays.stream(tour).sorted().toArray());
+        Integer[] byAngle = Arrays.stream(range(n)).boxed().sorted((a, b) -> Double.compare(angles[a], angles[b])).toArray(Integer[]::new);
+        int[] hull = Arrays.stream(byAngle).mapToInt(Integer::intValue).toArray();
+        assertEquals(TourOptimizer.length(costs, hull, true), TourOptimizer.length(costs, tour, true), 1e-9);
+    }
+
+    @Test
+    @DisplayName("optimize - Debería ser determinista con la misma semilla y no empeorar el vecino más cercano")
+    void optimize_shouldBeDeterministicForSeed() {
+        Random random = new Random(7);
+        int n = 40;
+        double[][] costs = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                costs[i][j] = costs[j][i] = 1 + random.nextInt(100);
+            }
+        }
+
+        int[] first = optimizer.optimize(costs, false, 3L, Long.MAX_VALUE);
+        int[] second = optimizer.optimize(costs, false, 3L, Long.MAX_VALUE);
+
+        assertArrayEquals(first, second);
+        assertEquals(0, first[0]);
+        assertArrayEquals(range(n), Arrays.stream(first).sorted().toArray());
+        assertTrue(TourOptimizer.length(costs, first, false) <= TourOptimizer.length(costs, nearestNeighbour(costs), false));
+    }
+
+    private static double[][] euclidean(double[] angles) {
+        int n = angles.length;
+        double[][] costs = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                costs[i][j] = Math.hypot(Math.cos(angles[i]) - Math.cos(angles[j]), Math.sin(angles[i]) - Math.sin(angles[j]));
+            }
+        }
+        return costs;
+    }
+
+    private static int[] nearestNeighbour(double[][] costs) {
+        int n = costs.length;
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int position = 1; position < n; position++) {
+            int best = -1;
+            for (int candidate = 0; candidate < n; candidate++) {
+                if (!visited[candidate] && (best < 0 || costs[tour[position - 1]][candidate] < costs[tour[position - 1]][best])) {
+                    best = candidate;
+                }
+            }
+            tour[position] = best;
+            visited[best] = true;
+        }
+        return tour;
+    }
+
+    private static int[] range(int n) {
+        int[] values = new int[n];
+        Arrays.setAll(values, i -> i);
+        return values;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.OneToAllSearch;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkIndex;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkPreprocessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AltRoutingEngineTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final LandmarkPreprocessor landmarkPreprocessor = new LandmarkPreprocessor(
+            new OneToAllSearch(dijkstra, 200000, 0.0, ForkJoinPool.commonPool()), 6, RoutingAlgorithm.AUTO);
+    private final AltRoutingEngine alt = new AltRoutingEngine(landmarkPreprocessor, dijkstra);
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con Dijkstra usando las cotas de los landmarks")
+    void shortestPath_withLandmarks_shouldMatchDijkstra() {
+        for (long seed = 0; seed < 6; seed++) {
+            CostGraph graph = randomGraph(seed, 200, 500, seed % 2 == 1);
+            landmarkPreprocessor.rebuildNow(graph);
+            assertTrue(landmarkPreprocessor.isFresh(graph));
+
+            for (int source = 0; source < graph.nodeCount(); source += 9) {
+                for (int target = 0; target < graph.nodeCount(); target += 7) {
+                    ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                    ShortestPathResult actual = alt.shortestPath(graph, source, target);
+
+                    assertEquals(expected.found(), actual.found());
+                    if (expected.found()) {
+                        assertEquals(expected.cost(), actual.cost(), 1e-9);
+                        assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería usar Dijkstra mientras los landmarks no estén listos")
+    void shortestPath_whenLandmarksStale_shouldFallBackToDijkstra() {
+        CostGraph graph = graph(new double[]{1, 2, 2}, new double[]{2, 3, 3}, new double[]{1, 3, 10});
+
+        ShortestPathResult result = alt.shortestPath(graph, graph.indexOf(1), graph.indexOf(3));
+
+        assertEquals(5.0, result.cost());
+        assertEquals(3, result.path().length);
+    }
+
+    @Test
+    @DisplayName("lowerBound/upperBound - Debería acotar el costo real entre ambas cotas de los landmarks")
+    void bounds_shouldBracketTrueDistance() {
+        CostGraph graph = randomGraph(4, 200, 500, false);
+        LandmarkIndex index = landmarkPreprocessor.rebuildNow(graph);
+
+        for (int source = 0; source < graph.nodeCount(); source += 11) {
+            double[] reference = referenceDistances(graph, source);
+            for (int target = 0; target < graph.nodeCount(); target += 5) {
+                if (reference[target] == Double.POSITIVE_INFINITY) {
+                    assertTrue(index.lowerBound(source, target) == Double.POSITIVE_INFINITY
+                            || index.upperBound(source, target) == Double.POSITIVE_INFINITY);
+                    continue;
+                }
+                assertTrue(index.lowerBound(source, target) <= reference[target] + 1e-9);
+                assertTrue(index.upperBound(source, target) >= reference[target] - 1e-9);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("onGraphChanged - Debería construir los landmarks solo a pedido cuando ALT no puede ser elegido")
+    void onGraphChanged_whenAltNotSelectable_shouldBuildOnDemandOnly() throws InterruptedException {
+        LandmarkPreprocessor onDemand = new LandmarkPreprocessor(
+                new OneToAllSearch(dijkstra, 200000, 0.0, ForkJoinPool.commonPool()), 4, RoutingAlgorithm.DIJKSTRA);
+        try {
+            CostGraph graph = randomGraph(5, 100, 300, true);
+
+            onDemand.onGraphChanged(CostGraphChangedEvent.reload(graph));
+            Thread.sleep(200);
+            assertFalse(onDemand.isFresh(graph));
+
+            assertNull(onDemand.getIfFresh(graph));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!onDemand.isFresh(graph) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(onDemand.isFresh(graph));
+        } finally {
+            onDemand.shutdown();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BidirectionalDijkstraRoutingEngineTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final BidirectionalDijkstraRoutingEngine bidirectional = new BidirectionalDijkstraRoutingEngine();
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con Dijkstra en costo y devolver una ruta válida")
+    void shortestPath_shouldMatchDijkstraOnRandomGraphs() {
+        for (long seed = 0; seed < 8; seed++) {
+            CostGraph graph = randomGraph(seed, 150, 350, seed % 2 == 0);
+            for (int source = 0; source < graph.nodeCount(); source += 3) {
+                for (int target = 0; target < graph.nodeCount(); target += 11) {
+                    ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                    ShortestPathResult actual = bidirectional.shortestPath(graph, source, target);
+
+                    assertEquals(expected.found(), actual.found());
+                    if (expected.found()) {
+                        assertEquals(expected.cost(), actual.cost(), 1e-9);
+                        assertEquals(source, actual.path()[0]);
+                        assertEquals(target, actual.path()[actual.path().length - 1]);
+                        assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería devolver el mismo punto con costo cero cuando origen y destino coinciden")
+    void shortestPath_whenSameNode_shouldReturnZeroCost() {
+        CostGraph graph = graph(new double[]{1, 2, 4});
+
+        ShortestPathResult result = bidirectional.shortestPath(graph, 0, 0);
+
+        assertArrayEquals(new int[]{0}, result.path());
+        assertEquals(0.0, result.cost());
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería asentar menos nodos que Dijkstra en una red en malla")
+    void shortestPath_shouldSettleFewerNodesThanDijkstra() {
+        int side = 40;
+        List<double[]> edges = new ArrayList<>();
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                long id = row * side + col + 1;
+                if (col + 1 < side) edges.add(new double[]{id, id + 1, 1});
+                if (row + 1 < side) edges.add(new double[]{id, id + side, 1});
+            }
+        }
+        CostGraph graph = graph(edges.toArray(new double[0][]));
+        int source = graph.indexOf(side * (side / 2) + 1);
+        int target = graph.indexOf(side * (side / 2) + side);
+
+        ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+        ShortestPathResult actual = bidirectional.shortestPath(graph, source, target);
+
+        assertEquals(expected.cost(), actual.cost(), 1e-9);
+        assertTrue(actual.settledNodes() < expected.settledNodes());
+    }
+}
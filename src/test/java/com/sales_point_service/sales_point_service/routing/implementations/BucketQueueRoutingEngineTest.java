@@ -0,0 +1,63 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BucketQueueRoutingEngineTest {
+
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final BucketQueueRoutingEngine engine = new BucketQueueRoutingEngine(dijkstra, 100, 65536);
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con Dijkstra para costos enteros y con dos decimales")
+    void shortestPath_shouldMatchDijkstraForScaledWeights() {
+        for (long seed = 0; seed < 6; seed++) {
+            CostGraph graph = randomGraph(seed, 300, 800, seed % 2 == 0);
+            assertNotNull(engine.scaledWeights(graph));
+
+            for (int source = 0; source < graph.nodeCount(); source += 23) {
+                for (int target = 0; target < graph.nodeCount(); target += 17) {
+                    ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                    ShortestPathResult actual = engine.shortestPath(graph, source, target);
+
+                    assertEquals(expected.found(), actual.found());
+                    if (!expected.found()) continue;
+                    assertEquals(expected.cost(), actual.cost());
+                    assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                    if (seed % 2 == 1) {
+                        assertArrayEquals(expected.path(), actual.path());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería usar Dijkstra cuando los costos no son representables en la escala")
+    void shortestPath_shouldFallBackWhenWeightsNotRepresentable() {
+        CostGraph graph = graph(new double[]{1, 2, 0.125}, new double[]{2, 3, 1.5}, new double[]{1, 3, 2.0});
+
+        assertNull(engine.scaledWeights(graph));
+        assertFalse(engine.isReady(graph));
+        assertTrue(engine.isUnavailable(graph));
+        ShortestPathResult result = engine.shortestPath(graph, graph.indexOf(1L), graph.indexOf(3L));
+
+        assertEquals(1.625, result.cost());
+        assertArrayEquals(new int[]{graph.indexOf(1L), graph.indexOf(2L), graph.indexOf(3L)}, result.path());
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería usar Dijkstra cuando un costo excede la cantidad máxima de cubetas")
+    void shortestPath_shouldFallBackWhenBucketsExceeded() {
+        BucketQueueRoutingEngine narrow = new BucketQueueRoutingEngine(dijkstra, 100, 1000);
+        CostGraph graph = graph(new double[]{1, 2, 25.0}, new double[]{2, 3, 1.0});
+
+        assertNull(narrow.scaledWeights(graph));
+        assertEquals(26.0, narrow.shortestPath(graph, graph.indexOf(1L), graph.indexOf(3L)).cost());
+    }
+}
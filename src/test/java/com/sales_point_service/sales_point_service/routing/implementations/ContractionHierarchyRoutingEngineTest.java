@@ -0,0 +1,75 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.preprocessing.ContractionHierarchyPreprocessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContractionHierarchyRoutingEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final ContractionHierarchyPreprocessor preprocessor = new ContractionHierarchyPreprocessor(dijkstra, meterRegistry, RoutingAlgorithm.AUTO);
+    private final ContractionHierarchyRoutingEngine engine = new ContractionHierarchyRoutingEngine(preprocessor, dijkstra);
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con Dijkstra y desempaquetar los atajos en rutas reales")
+    void shortestPath_shouldMatchDijkstraAndUnpackShortcuts() {
+        for (long seed = 0; seed < 6; seed++) {
+            CostGraph graph = randomGraph(seed, 250, 700, seed % 2 == 0);
+            preprocessor.rebuildNow(graph);
+
+            for (int source = 0; source < graph.nodeCount(); source += 7) {
+                for (int target = 0; target < graph.nodeCount(); target += 13) {
+                    ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                    ShortestPathResult actual = engine.shortestPath(graph, source, target);
+
+                    assertEquals(expected.found(), actual.found());
+                    if (expected.found()) {
+                        assertEquals(expected.cost(), actual.cost(), 1e-9);
+                        assertEquals(source, actual.path()[0]);
+                        assertEquals(target, actual.path()[actual.path().length - 1]);
+                        assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería crear atajos a través de nodos unidos por enlaces de costo cero")
+    void shortestPath_withZeroCostLinks_shouldKeepShortcuts() {
+        CostGraph star = graph(new double[]{1, 3, 0.0}, new double[]{2, 3, 0.0});
+        CostGraph mixed = graph(new double[]{1, 2, 0.0}, new double[]{2, 3, 0.0}, new double[]{3, 4, 0.0},
+                new double[]{4, 5, 2.0}, new double[]{1, 5, 5.0}, new double[]{5, 6, 0.0}, new double[]{2, 6, 9.0});
+
+        for (CostGraph graph : new CostGraph[]{star, mixed}) {
+            preprocessor.rebuildNow(graph);
+            for (int source = 0; source < graph.nodeCount(); source++) {
+                for (int target = 0; target < graph.nodeCount(); target++) {
+                    ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                    ShortestPathResult actual = engine.shortestPath(graph, source, target);
+
+                    assertTrue(actual.found());
+                    assertEquals(expected.cost(), actual.cost(), 1e-9);
+                    assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("build - Debería publicar el tiempo de preprocesamiento en las métricas")
+    void build_shouldRecordPreprocessingMetrics() {
+        preprocessor.rebuildNow(randomGraph(42, 100, 300, true));
+
+        assertEquals(1, meterRegistry.get("routing.ch.preprocessing").timer().count());
+        assertNotNull(meterRegistry.get("routing.ch.query.speedup").gauge());
+    }
+}
@@ -0,0 +1,207 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.routing.search.CostOverlay;
+import com.sales_point_service.sales_point_service.routing.search.SearchAbortedException;
+import com.sales_point_service.sales_point_service.routing.search.SearchBudget;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DijkstraRoutingEngineTest {
+
+    private final DijkstraRoutingEngine engine = new DijkstraRoutingEngine();
+
+    @Test
+    @DisplayName("shortestPath - Debería elegir la ruta indirecta cuando es más barata")
+    void shortestPath_shouldPreferCheaperIndirectRoute() {
+        CostGraph graph = graph(new double[]{1, 2, 2}, new double[]{2, 3, 3}, new double[]{1, 3, 10}, new double[]{3, 4, 1});
+
+        ShortestPathResult result = engine.shortestPath(graph, graph.indexOf(1), graph.indexOf(4));
+
+        assertTrue(result.found());
+        assertEquals(6.0, result.cost());
+        assertArrayEquals(new int[]{graph.indexOf(1), graph.indexOf(2), graph.indexOf(3), graph.indexOf(4)}, result.path());
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería indicar que no hay ruta entre componentes distintos")
+    void shortestPath_whenDisconnected_shouldReturnNotFound() {
+        CostGraph graph = graph(new double[]{1, 2, 2}, new double[]{3, 4, 3});
+
+        ShortestPathResult result = engine.shortestPath(graph, graph.indexOf(1), graph.indexOf(4));
+
+        assertFalse(result.found());
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con la referencia en grafos aleatorios reutilizando el workspace")
+    void shortestPath_shouldMatchReferenceOnRandomGraphs() {
+        for (long seed = 0; seed < 5; seed++) {
+            CostGraph graph = randomGraph(seed, 120, 400, false);
+            for (int source = 0; source < graph.nodeCount(); source += 7) {
+                double[] expected = referenceDistances(graph, source);
+                for (int target = 0; target < graph.nodeCount(); target += 5) {
+                    ShortestPathResult result = engine.shortestPath(graph, source, target);
+                    if (expected[target] == Double.POSITIVE_INFINITY) {
+                        assertFalse(result.found());
+                    } else {
+                        assertEquals(expected[target], result.cost(), 1e-9);
+                        assertEquals(result.cost(), pathCost(graph, result.path()), 1e-9);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("searchWithinBudget - Debería visitar solo los nodos dentro del presupuesto en orden de costo")
+    void searchWithinBudget_shouldVisitOnlyNodesWithinBudget() {
+        CostGraph graph = randomGraph(9, 300, 800, false);
+        double[] reference = referenceDistances(graph, 0);
+        double budget = 40.0;
+        List<Integer> visited = new ArrayList<>();
+        double[] lastDistance = {0.0};
+
+        engine.searchWithinBudget(graph, 0, budget, (node, distance, predecessor) -> {
+            assertEquals(reference[node], distance, 1e-9);
+            assertTrue(distance >= lastDistance[0]);
+            if (predecessor >= 0) {
+                assertTrue(reference[predecessor] <= distance);
+            }
+            lastDistance[0] = distance;
+            visited.add(node);
+        });
+
+        long expected = Arrays.stream(reference).filter(distance -> distance <= budget).count();
+        assertEquals(expected, visited.size());
+        assertEquals(visited.size(), Set.copyOf(visited).size());
+    }
+
+    @Test
+    @DisplayName("searchNearest - Debería devolver los k nodos más cercanos sin incluir el origen")
+    void searchNearest_shouldReturnKClosestNodes() {
+        CostGraph graph = randomGraph(4, 300, 900, true);
+        double[] reference = referenceDistances(graph, 0);
+        double[] sorted = Arrays.stream(reference).filter(distance -> distance > 0 && distance < Double.POSITIVE_INFINITY).sorted().toArray();
+        List<Double> found = new ArrayList<>();
+
+        engine.searchNearest(graph, 0, 10, (node, distance, predecessor) -> {
+            assertNotEquals(0, node);
+            assertEquals(reference[node], distance, 1e-9);
+            found.add(distance);
+        });
+
+        assertEquals(10, found.size());
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(sorted[i], found.get(i), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("searchToTargets - Debería informar los candidatos en orden de costo y detenerse al alcanzar el límite")
+    void searchToTargets_shouldReportCandidatesInCostOrder() {
+        CostGraph graph = randomGraph(6, 300, 900, false);
+        double[] reference = referenceDistances(graph, 0);
+        BitSet candidates = new BitSet();
+        for (int node = 5; node < graph.nodeCount(); node += 25) {
+            candidates.set(node);
+        }
+        double best = candidates.stream().mapToDouble(node -> reference[node]).min().orElseThrow();
+        List<Double> reported = new ArrayList<>();
+
+        engine.searchToTargets(graph, 0, candidates, 3, (node, distance, predecessor) -> {
+            assertTrue(candidates.get(node));
+            reported.add(distance);
+        });
+
+        assertEquals(3, reported.size());
+        assertEquals(best, reported.get(0), 1e-9);
+        assertTrue(reported.get(0) <= reported.get(1) && reported.get(1) <= reported.get(2));
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con el grafo reconstruido al aplicar los cambios de un overlay")
+    void shortestPath_withOverlay_shouldMatchRebuiltGraph() {
+        CostGraph graph = randomGraph(21, 200, 500, false);
+        Map<Long, Map<Long, Double>> original = adjacencyOf(graph);
+        Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+        CostOverlay overlay = new CostOverlay(graph);
+        for (int node = 0; node < graph.nodeCount(); node += 11) {
+            int other = (node * 7 + 3) % graph.nodeCount();
+            if (other == node) continue;
+            long fromId = graph.nodeId(node);
+            long toId = graph.nodeId(other);
+            Double cost = node % 3 == 0 ? null : (double) (node % 13);
+            overlay.put(node, other, cost);
+            if (cost == null) {
+                adjacency.getOrDefault(fromId, new HashMap<>()).remove(toId);
+                adjacency.getOrDefault(toId, new HashMap<>()).remove(fromId);
+            } else {
+                adjacency.computeIfAbsent(fromId, k -> new HashMap<>()).put(toId, cost);
+                adjacency.computeIfAbsent(toId, k -> new HashMap<>()).put(fromId, cost);
+            }
+        }
+        CostGraph rebuilt = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+
+        for (int source = 0; source < graph.nodeCount(); source += 13) {
+            double[] expected = referenceDistances(rebuilt, rebuilt.indexOf(graph.nodeId(source)));
+            for (int target = 0; target < graph.nodeCount(); target += 9) {
+                ShortestPathResult result = engine.shortestPath(overlay, source, target);
+                double reference = expected[rebuilt.indexOf(graph.nodeId(target))];
+
+                assertEquals(reference < Double.POSITIVE_INFINITY, result.found());
+                if (result.found()) {
+                    assertEquals(reference, result.cost(), 1e-9);
+                }
+            }
+        }
+        assertEquals(original, adjacencyOf(graph));
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería abortar al agotar el presupuesto de nodos y no afectar búsquedas fuera del alcance")
+    void shortestPath_withSettledBudget_shouldAbort() {
+        CostGraph graph = randomGraph(31, 3000, 9000, true);
+        int target = graph.nodeCount() - 1;
+
+        SearchAbortedException aborted;
+        try (SearchBudget.Scope ignored = SearchBudget.of(0, 500).activate()) {
+            aborted = assertThrows(SearchAbortedException.class, () -> engine.searchAll(graph, 0));
+        }
+
+        assertEquals(SearchAbortedException.Reason.SETTLED_BUDGET, aborted.getReason());
+        assertTrue(aborted.getSettledNodes() > 500);
+        assertNull(SearchBudget.current());
+        assertEquals(graph.nodeCount(), engine.searchAll(graph, 0).settledCount() + unreachable(graph));
+        assertNotNull(engine.shortestPath(graph, 0, target));
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería abortar cuando vence el deadline")
+    void shortestPath_withExpiredDeadline_shouldAbort() throws InterruptedException {
+        CostGraph graph = randomGraph(32, 3000, 9000, true);
+        SearchBudget budget = SearchBudget.of(1, 0);
+        Thread.sleep(5);
+
+        try (SearchBudget.Scope ignored = budget.activate()) {
+            SearchAbortedException aborted = assertThrows(SearchAbortedException.class, () -> engine.searchAll(graph, 0));
+            assertEquals(SearchAbortedException.Reason.DEADLINE, aborted.getReason());
+        }
+    }
+
+    private static int unreachable(CostGraph graph) {
+        return (int) Arrays.stream(referenceDistances(graph, 0)).filter(distance -> distance == Double.POSITIVE_INFINITY).count();
+    }
+}
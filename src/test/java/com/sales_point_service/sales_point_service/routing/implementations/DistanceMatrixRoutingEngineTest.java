@@ -0,0 +1,146 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.preprocessing.DistanceMatrix;
+import com.sales_point_service.sales_point_service.routing.preprocessing.DistanceMatrixPreprocessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DistanceMatrixRoutingEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final DistanceMatrixPreprocessor preprocessor = new DistanceMatrixPreprocessor(300, meterRegistry, pool, RoutingAlgorithm.AUTO);
+    private final DistanceMatrixRoutingEngine engine = new DistanceMatrixRoutingEngine(preprocessor, dijkstra);
+
+    @AfterEach
+    void tearDown() {
+        preprocessor.shutdown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería responder desde la matriz igual que Dijkstra")
+    void shortestPath_shouldMatchDijkstra() {
+        for (long seed = 0; seed < 4; seed++) {
+            CostGraph graph = randomGraph(seed, 200, 500, seed % 2 == 0);
+            preprocessor.rebuildNow(graph);
+
+            assertMatchesDijkstra(graph);
+        }
+    }
+
+    @Test
+    @DisplayName("build - Debería recalcular solo las filas afectadas al modificar, agregar o eliminar una arista")
+    void build_shouldRecomputeOnlyAffectedRows() {
+        CostGraph graph = randomGraph(11, 200, 500, false);
+        preprocessor.rebuildNow(graph);
+
+        for (int round = 0; round < 8; round++) {
+            int node = (round * 53) % graph.nodeCount();
+            int edge = graph.firstEdge(node);
+            long fromId = graph.nodeId(node);
+            long toId = graph.nodeId(edge < graph.endEdge(node) ? graph.target(edge) : (node + 1) % graph.nodeCount());
+            Double previousCost = edge < graph.endEdge(node) ? graph.weight(edge) : null;
+            Double newCost = switch (round % 4) {
+                case 0 -> previousCost == null ? 5.0 : previousCost * 4;
+                case 1 -> previousCost == null ? 5.0 : previousCost / 4;
+                case 2 -> null;
+                default -> 0.5;
+            };
+            if (previousCost == null && newCost == null) continue;
+
+            Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+            if (newCost == null) {
+                adjacency.get(fromId).remove(toId);
+                adjacency.get(toId).remove(fromId);
+            } else {
+                adjacency.computeIfAbsent(fromId, k -> new HashMap<>()).put(toId, newCost);
+                adjacency.computeIfAbsent(toId, k -> new HashMap<>()).put(fromId, newCost);
+            }
+            CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+
+            preprocessor.onGraphChanged(new CostGraphChangedEvent(updated, fromId, toId, previousCost, newCost));
+            DistanceMatrix matrix = preprocessor.rebuildNow(updated);
+            graph = updated;
+
+            assertNotNull(matrix);
+            assertMatchesDijkstra(graph);
+        }
+
+        assertTrue(meterRegistry.get("routing.matrix.build").tag("mode", "incremental").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("build - Debería desactivar la matriz por encima del límite de nodos y usar Dijkstra")
+    void build_shouldSwitchOffAboveNodeLimit() {
+        CostGraph graph = randomGraph(3, 600, 1500, true);
+
+        assertNull(preprocessor.rebuildNow(graph));
+        assertMatchesDijkstra(graph);
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería reconstruir caminos que llegan al destino cuando hay empates por aristas de costo cero")
+    void shortestPath_withZeroCostTies_shouldReachTarget() {
+        for (long seed = 0; seed < 2000; seed++) {
+            Random random = new Random(seed);
+            Map<Long, Map<Long, Double>> adjacency = new HashMap<>();
+            for (int i = 0; i < 14; i++) {
+                long from = 1 + random.nextInt(8);
+                long to = 1 + random.nextInt(8);
+                if (from == to) continue;
+                double cost = random.nextInt(3) == 0 ? 0.0 : 1 + random.nextInt(5);
+                adjacency.computeIfAbsent(from, k -> new HashMap<>()).put(to, cost);
+                adjacency.computeIfAbsent(to, k -> new HashMap<>()).put(from, cost);
+            }
+            CostGraph graph = CostGraph.fromAdjacency(seed + 1, adjacency, null);
+            preprocessor.rebuildNow(graph);
+
+            for (int source = 0; source < graph.nodeCount(); source++) {
+                for (int target = 0; target < graph.nodeCount(); target++) {
+                    ShortestPathResult actual = engine.shortestPath(graph, source, target);
+                    if (!actual.found()) continue;
+
+                    int[] path = actual.path();
+                    assertEquals(source, path[0]);
+                    assertEquals(target, path[path.length - 1]);
+                    assertEquals(path.length, Arrays.stream(path).distinct().count());
+                    assertEquals(actual.cost(), pathCost(graph, path), 1e-9);
+                }
+            }
+        }
+    }
+
+    private void assertMatchesDijkstra(CostGraph graph) {
+        for (int source = 0; source < graph.nodeCount(); source += 7) {
+            for (int target = 0; target < graph.nodeCount(); target += 11) {
+                ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                ShortestPathResult actual = engine.shortestPath(graph, source, target);
+
+                assertEquals(expected.found(), actual.found());
+                if (expected.found()) {
+                    assertEquals(expected.cost(), actual.cost(), 1e-9);
+                    assertEquals(source, actual.path()[0]);
+                    assertEquals(target, actual.path()[actual.path().length - 1]);
+                    assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sales_point_service.sales_point_service.routing.implementations;
+
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.graph.CostGraphChangedEvent;
+import com.sales_point_service.sales_point_service.routing.preprocessing.OverlayGraph;
+import com.sales_point_service.sales_point_service.routing.preprocessing.OverlayPartition;
+import com.sales_point_service.sales_point_service.routing.preprocessing.OverlayPreprocessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlayRoutingEngineTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DijkstraRoutingEngine dijkstra = new DijkstraRoutingEngine();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final OverlayPreprocessor preprocessor = new OverlayPreprocessor(3, 8, 3, meterRegistry, pool, RoutingAlgorithm.AUTO);
+    private final OverlayRoutingEngine engine = new OverlayRoutingEngine(preprocessor, dijkstra);
+
+    @AfterEach
+    void tearDown() {
+        preprocessor.shutdown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("shortestPath - Debería coincidir con Dijkstra atravesando las celdas de todos los niveles")
+    void shortestPath_shouldMatchDijkstraAcrossOverlayLevels() {
+        for (long seed = 0; seed < 6; seed++) {
+            CostGraph graph = randomGraph(seed, 250, 700, seed % 2 == 0);
+            preprocessor.rebuildNow(graph);
+
+            assertMatchesDijkstra(graph);
+        }
+    }
+
+    @Test
+    @DisplayName("build - Debería recustomizar solo las celdas afectadas cuando cambia el peso de una arista")
+    void build_shouldRecustomizeIncrementallyOnWeightChange() {
+        CostGraph graph = randomGraph(7, 250, 700, false);
+        preprocessor.rebuildNow(graph);
+
+        for (int round = 0; round < 5; round++) {
+            int node = (round * 37) % graph.nodeCount();
+            int edge = graph.firstEdge(node);
+            if (edge == graph.endEdge(node)) continue;
+            long fromId = graph.nodeId(node);
+            long toId = graph.nodeId(graph.target(edge));
+            double previousCost = graph.weight(edge);
+            double newCost = round % 2 == 0 ? previousCost * 10 : previousCost / 10;
+
+            Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+            adjacency.get(fromId).put(toId, newCost);
+            adjacency.get(toId).put(fromId, newCost);
+            CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+
+            preprocessor.onGraphChanged(new CostGraphChangedEvent(updated, fromId, toId, previousCost, newCost));
+            preprocessor.rebuildNow(updated);
+            graph = updated;
+
+            assertMatchesDijkstra(graph);
+        }
+
+        assertTrue(meterRegistry.get("routing.overlay.customization").tag("mode", "incremental").timer().count() > 0);
+    }
+
+    @Test
+    @DisplayName("recustomize - Debería dejar intacto el overlay anterior al recalcular las celdas afectadas")
+    void recustomize_shouldLeavePreviousOverlayUntouched() {
+        CostGraph graph = randomGraph(9, 250, 700, false);
+        OverlayGraph previous = OverlayGraph.customize(graph, OverlayPartition.build(graph, 3, 8, 3), pool);
+        int from = 0;
+        while (graph.firstEdge(from) == graph.endEdge(from)) from++;
+        int edge = graph.firstEdge(from);
+        long fromId = graph.nodeId(from);
+        long toId = graph.nodeId(graph.target(edge));
+
+        Map<Long, Map<Long, Double>> adjacency = adjacencyOf(graph);
+        adjacency.get(fromId).put(toId, graph.weight(edge) / 100);
+        adjacency.get(toId).put(fromId, graph.weight(edge) / 100);
+        CostGraph updated = CostGraph.fromAdjacency(graph.version() + 1, adjacency, graph);
+        OverlayGraph recustomized = previous.recustomize(updated, new int[]{from, graph.target(edge)}, pool);
+
+        for (int source = 0; source < graph.nodeCount(); source += 11) {
+            for (int target = 0; target < graph.nodeCount(); target += 17) {
+                ShortestPathResult before = previous.query(source, target, new OverlayGraph.OverlayWorkspace(), new OverlayGraph.OverlayWorkspace());
+                ShortestPathResult after = recustomized.query(source, target, new OverlayGraph.OverlayWorkspace(), new OverlayGraph.OverlayWorkspace());
+
+                assertEquals(dijkstra.shortestPath(graph, source, target).cost(), before.cost(), 1e-9);
+                assertEquals(dijkstra.shortestPath(updated, source, target).cost(), after.cost(), 1e-9);
+            }
+        }
+    }
+
+    private void assertMatchesDijkstra(CostGraph graph) {
+        for (int source = 0; source < graph.nodeCount(); source += 7) {
+            for (int target = 0; target < graph.nodeCount(); target += 13) {
+                ShortestPathResult expected = dijkstra.shortestPath(graph, source, target);
+                ShortestPathResult actual = engine.shortestPath(graph, source, target);
+
+                assertEquals(expected.found(), actual.found());
+                if (expected.found()) {
+                    assertEquals(expected.cost(), actual.cost(), 1e-9);
+                    assertEquals(source, actual.path()[0]);
+                    assertEquals(target, actual.path()[actual.path().length - 1]);
+                    assertEquals(actual.cost(), pathCost(graph, actual.path()), 1e-9);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.sales_point_service.sales_point_service.services;
+
+import com.sales_point_service.sales_point_service.cache.CacheManagerFactory;
+import com.sales_point_service.sales_point_service.cache.interfaces.CacheManager;
+import com.sales_point_service.sales_point_service.dtos.DistanceEstimateDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfDTO;
+import com.sales_point_service.sales_point_service.dtos.NearestOfRequest;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathDTO;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathOptions;
+import com.sales_point_service.sales_point_service.dtos.ShortestPathResult;
+import com.sales_point_service.sales_point_service.enums.CacheType;
+import com.sales_point_service.sales_point_service.enums.RoutingAlgorithm;
+import com.sales_point_service.sales_point_service.exceptions.CostException;
+import com.sales_point_service.sales_point_service.graph.CostGraph;
+import com.sales_point_service.sales_point_service.models.Cost;
+import com.sales_point_service.sales_point_service.models.CostId;
+import com.sales_point_service.sales_point_service.routing.ConnectedComponentsIndex;
+import com.sales_point_service.sales_point_service.routing.HopLimitedPathFinder;
+import com.sales_point_service.sales_point_service.routing.RoutingEngineSelector;
+import com.sales_point_service.sales_point_service.routing.ShortestPathResultCache;
+import com.sales_point_service.sales_point_service.routing.ShortestPathTreeCache;
+import com.sales_point_service.sales_point_service.routing.implementations.DijkstraRoutingEngine;
+import com.sales_point_service.sales_point_service.routing.interfaces.RoutingEngine;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkIndex;
+import com.sales_point_service.sales_point_service.routing.preprocessing.LandmarkPreprocessor;
+import com.sales_point_service.sales_point_service.routing.search.SearchMask;
+import com.sales_point_service.sales_point_service.services.implementations.CostServiceImplementation;
+import com.sales_point_service.sales_point_service.utils.Constants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static com.sales_point_service.sales_point_service.routing.CostGraphFixtures.graph;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CostServiceImplementationTest {
+
+    @Mock
+    private CacheManagerFactory cacheManagerFactory;
+
+    @Mock
+    private CacheManager<CostId, Cost> costCache;
+
+    @Mock
+    private ConnectedComponentsIndex connectedComponentsIndex;
+
+    @Mock
+    private RoutingEngineSelector routingEngineSelector;
+
+    @Mock
+    private ShortestPathResultCache shortestPathResultCache;
+
+    @Mock
+    private ShortestPathTreeCache shortestPathTreeCache;
+
+    @Mock
+    private LandmarkPreprocessor landmarkPreprocessor;
+
+    @Mock
+    private LandmarkIndex landmarkIndex;
+
+    @Spy
+    private DijkstraRoutingEngine dijkstraRoutingEngine = new DijkstraRoutingEngine();
+
+    @Spy
+    private HopLimitedPathFinder hopLimitedPathFinder = new HopLimitedPathFinder();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private CostServiceImplementation costService;
+
+    private CostGraph costGraph;
+
+    @BeforeEach
+    void setUp() {
+        costGraph = graph(new double[]{1, 2, 1.0}, new double[]{2, 3, 2.0}, new double[]{1, 3, 5.0}, new double[]{3, 4, 1.0});
+
+        ReflectionTestUtils.setField(costService, "maxNearestSalePoints", 100);
+        lenient().when(cacheManagerFactory.getCacheManager(CacheType.COST)).thenReturn((CacheManager) costCache);
+        lenient().when(costCache.getGraphSnapshot()).thenReturn(costGraph);
+        lenient().when(costCache.getSalePointName(anyLong())).thenReturn("Point");
+    }
+
+    @Test
+    @DisplayName("getNearestOf - Debería rechazar con 400 un runnersUp fuera de rango sin desbordar")
+    void getNearestOf_whenRunnersUpOutOfRange_shouldReturnBadRequest() {
+        for (int runnersUp : new int[]{-1, 100, Integer.MAX_VALUE}) {
+            NearestOfRequest request = new NearestOfRequest(1L, null, List.of(3L, 4L), runnersUp);
+
+            CostException exception = assertThrows(CostException.class, () -> costService.getNearestOf(request));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+            assertEquals(Constants.RUNNERS_UP_OUT_OF_RANGE, exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("getNearestOf - Debería devolver el candidato más barato y los siguientes dentro del rango permitido")
+    void getNearestOf_withRunnersUp_shouldRankCandidates() {
+        NearestOfRequest request = new NearestOfRequest(1L, null, List.of(3L, 4L), 99);
+
+        ResponseEntity<NearestOfDTO> response = costService.getNearestOf(request);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().winnerId());
+        assertEquals(3.0, response.getBody().cost(), 1e-9);
+        assertEquals(1, response.getBody().runnersUp().size());
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería responder 503 y contar el aborto cuando la búsqueda supera los nodos asentados")
+    void getShortestPath_whenSettledBudgetExceeded_shouldReturnServiceUnavailable() {
+        CostGraph chain = chain(1000);
+        when(costCache.getGraphSnapshot()).thenReturn(chain);
+        when(routingEngineSelector.select(chain, null)).thenReturn(dijkstraRoutingEngine);
+        ReflectionTestUtils.setField(costService, "queryMaxSettled", 1L);
+
+        CostException exception = assertThrows(CostException.class,
+                () -> costService.getShortestPath(1L, 1000L, ShortestPathOptions.NONE));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        assertEquals(Constants.QUERY_BUDGET_EXCEEDED, exception.getMessage());
+        assertEquals(1.0, meterRegistry.get("routing.query.aborted").tag("reason", "SETTLED_BUDGET").counter().count());
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería responder 504 y contar el aborto cuando vence el plazo de la consulta")
+    void getShortestPath_whenDeadlineExpired_shouldReturnGatewayTimeout() {
+        CostGraph chain = chain(1000);
+        when(costCache.getGraphSnapshot()).thenReturn(chain);
+        when(routingEngineSelector.select(chain, null)).thenReturn(new RoutingEngine() {
+            @Override
+            public RoutingAlgorithm algorithm() {
+                return RoutingAlgorithm.DIJKSTRA;
+            }
+
+            @Override
+            public ShortestPathResult shortestPath(CostGraph graph, int source, int target) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return dijkstraRoutingEngine.shortestPath(graph, source, target);
+            }
+        });
+        ShortestPathOptions options = new ShortestPathOptions(null, null, null, 1L, null);
+
+        CostException exception = assertThrows(CostException.class, () -> costService.getShortestPath(1L, 1000L, options));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, exception.getHttpStatus());
+        assertEquals(Constants.QUERY_DEADLINE_EXCEEDED, exception.getMessage());
+        assertEquals(1.0, meterRegistry.get("routing.query.aborted").tag("reason", "DEADLINE").counter().count());
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería rechazar con 400 un plazo que no es positivo")
+    void getShortestPath_whenDeadlineNotPositive_shouldReturnBadRequest() {
+        for (long deadlineMs : new long[]{0L, -5L}) {
+            ShortestPathOptions options = new ShortestPathOptions(null, null, null, deadlineMs, null);
+
+            CostException exception = assertThrows(CostException.class, () -> costService.getShortestPath(1L, 4L, options));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+            assertEquals(Constants.QUERY_DEADLINE_INVALID, exception.getMessage());
+        }
+        verifyNoInteractions(routingEngineSelector);
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería rechazar con 400 los enlaces a evitar mal formados")
+    void getShortestPath_whenAvoidEdgeMalformed_shouldReturnBadRequest() {
+        for (String link : new String[]{"1-2-3", "a-b", "12"}) {
+            ShortestPathOptions options = new ShortestPathOptions(null, List.of(link), null, null, null);
+
+            CostException exception = assertThrows(CostException.class, () -> costService.getShortestPath(1L, 3L, options));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+            assertEquals(Constants.AVOID_EDGE_INVALID, exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería rechazar con 400 evitar el origen o el destino")
+    void getShortestPath_whenEndpointAvoided_shouldReturnBadRequest() {
+        for (Long avoided : new Long[]{1L, 3L}) {
+            ShortestPathOptions options = new ShortestPathOptions(List.of(avoided), null, null, null, null);
+
+            CostException exception = assertThrows(CostException.class, () -> costService.getShortestPath(1L, 3L, options));
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+            assertEquals(Constants.AVOID_ENDPOINT, exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería rechazar con 400 un maxHops menor que 1")
+    void getShortestPath_whenMaxHopsBelowOne_shouldReturnBadRequest() {
+        ShortestPathOptions options = new ShortestPathOptions(null, null, 0, null, null);
+
+        CostException exception = assertThrows(CostException.class, () -> costService.getShortestPath(1L, 3L, options));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+        assertEquals(Constants.MAX_HOPS_OUT_OF_RANGE, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería usar Dijkstra con máscara cuando solo se evitan puntos o enlaces")
+    void getShortestPath_withAvoidedLinkOnly_shouldUseMaskedDijkstra() {
+        ShortestPathOptions options = new ShortestPathOptions(null, List.of("2-1"), null, null, null);
+
+        ResponseEntity<ShortestPathDTO> response = costService.getShortestPath(1L, 3L, options);
+
+        assertEquals(5.0, response.getBody().totalCost(), 1e-9);
+        assertEquals(2, response.getBody().path().size());
+        verify(dijkstraRoutingEngine).shortestPath(eq(costGraph), eq(0), eq(2), any(SearchMask.class));
+        verifyNoInteractions(hopLimitedPathFinder, routingEngineSelector);
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería usar la búsqueda por saltos cuando maxHops limita el camino")
+    void getShortestPath_withMaxHopsBelowNodeCount_shouldUseHopLimitedSearch() {
+        ShortestPathOptions options = new ShortestPathOptions(List.of(4L), null, 1, null, null);
+
+        ResponseEntity<ShortestPathDTO> response = costService.getShortestPath(1L, 3L, options);
+
+        assertEquals(5.0, response.getBody().totalCost(), 1e-9);
+        verify(hopLimitedPathFinder).find(eq(costGraph), eq(0), eq(2), eq(1), any(SearchMask.class));
+        verify(dijkstraRoutingEngine, never()).shortestPath(any(), anyInt(), anyInt(), any(SearchMask.class));
+    }
+
+    @Test
+    @DisplayName("getShortestPath - Debería volver a Dijkstra con máscara cuando maxHops no limita ningún camino simple")
+    void getShortestPath_withMaxHopsAtNodeCount_shouldUseMaskedDijkstra() {
+        ShortestPathOptions options = new ShortestPathOptions(null, null, 3, null, null);
+
+        ResponseEntity<ShortestPathDTO> response = costService.getShortestPath(1L, 3L, options);
+
+        assertEquals(3.0, response.getBody().totalCost(), 1e-9);
+        verify(dijkstraRoutingEngine).shortestPath(eq(costGraph), eq(0), eq(2), any(SearchMask.class));
+        verifyNoInteractions(hopLimitedPathFinder);
+    }
+
+    @Test
+    @DisplayName("getDistanceEstimate - Debería acotar el error aditivo aunque la cota inferior sea 0")
+    void getDistanceEstimate_withZeroLowerBound_shouldReturnAdditiveBound() {
+        when(landmarkPreprocessor.getIfFresh(costGraph)).thenReturn(landmarkIndex);
+        when(landmarkIndex.lowerBound(0, 2)).thenReturn(0.0);
+        when(landmarkIndex.upperBound(0, 2)).thenReturn(4.0);
+
+        DistanceEstimateDTO estimate = costService.getDistanceEstimate(1L, 3L).getBody();
+
+        assertEquals(4.0, estimate.estimate(), 1e-9);
+        assertEquals(4.0, estimate.maxError(), 1e-9);
+        assertNull(estimate.observedStretch());
+        assertFalse(estimate.lowerBoundOnly());
+    }
+
+    @Test
+    @DisplayName("getDistanceEstimate - Debería marcar la estimación como cota inferior cuando no hay cota superior")
+    void getDistanceEstimate_withoutUpperBound_shouldFlagLowerBoundOnly() {
+        when(landmarkPreprocessor.getIfFresh(costGraph)).thenReturn(landmarkIndex);
+        when(landmarkIndex.lowerBound(0, 2)).thenReturn(2.5);
+        when(landmarkIndex.upperBound(0, 2)).thenReturn(Double.POSITIVE_INFINITY);
+
+        DistanceEstimateDTO estimate = costService.getDistanceEstimate(1L, 3L).getBody();
+
+        assertEquals(2.5, estimate.estimate(), 1e-9);
+        assertEquals(2.5, estimate.lowerBound(), 1e-9);
+        assertNull(estimate.upperBound());
+        assertNull(estimate.maxError());
+        assertTrue(estimate.lowerBoundOnly());
+    }
+
+    private static CostGraph chain(int length) {
+        double[][] edges = new double[length - 1][];
+        for (int i = 1; i < length; i++) {
+            edges[i - 1] = new double[]{i, i + 1, 1.0};
+        }
+        return graph(edges);
+    }
+}
@@ -0,0 +1,2 @@
+CREATE TABLE sale_point (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, name VARCHAR(255));
+CREATE TABLE cost (from_id BIGINT NOT NULL, to_id BIGINT NOT NULL, cost DOUBLE PRECISION, created_at TIMESTAMP, updated_at TIMESTAMP, deleted_at TIMESTAMP, PRIMARY KEY (from_id, to_id));
@@ -0,0 +1,2 @@
+INSERT INTO sale_point (id, name) VALUES (1, 'SP_A_RouteCache'), (2, 'SP_B_RouteCache'), (3, 'SP_C_RouteCache');
+INSERT INTO cost (from_id, to_id, cost, created_at, updated_at) VALUES (1, 2, 2.0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), (2, 3, 3.0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), (1, 3, 9.0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);